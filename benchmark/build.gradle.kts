@@ -0,0 +1,52 @@
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+// The server module only builds a boot jar, so its classes are benchmarked straight from its build output.
+evaluationDependsOn(":realworld")
+
+val server = project(":realworld")
+
+dependencies {
+    jmhImplementation(project(":module:core"))
+    jmhImplementation(project(":module:persistence"))
+    jmhImplementation(testFixtures(project(":module:core")))
+    jmhImplementation(files(server.the<SourceSetContainer>()["main"].output))
+
+    jmhImplementation(libs.spring.boot.starter.web)
+    jmhImplementation(libs.spring.boot.starter.oauth2.resource.server)
+    jmhImplementation(libs.spring.boot.starter.actuator)
+    jmhImplementation(libs.cache.caffeine)
+    jmhImplementation(libs.spring.test)
+    jmhImplementation(libs.spring.boot.starter.data.jpa)
+    jmhImplementation(libs.spring.boot.starter.p6spy)
+    jmhImplementation(libs.hdrhistogram)
+
+    jmhRuntimeOnly(libs.db.h2)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+
+    // Note: Reports the bytes allocated per operation as gc.alloc.rate.norm next to the time.
+    profilers.add("gc")
+
+    // Note: Loads millions of rows per iteration, so it runs on its own from the jar, with the iterations it declares.
+    excludes.add("UserIdInsertBenchmark")
+
+    // Note: Results are written as JSON, so two runs can be compared, e.g. with https://jmh.morethan.io.
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// Note: The load test drives the whole server over HTTP, so it runs on its own instead of in a JMH fork.
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs a mixed workload against the server and reports latency percentiles per endpoint."
+    group = "verification"
+    classpath = the<SourceSetContainer>()["jmh"].runtimeClasspath
+    mainClass.set("io.zhc1.realworld.load.LoadGenerator")
+    jvmArgs("-Xmx4g")
+}
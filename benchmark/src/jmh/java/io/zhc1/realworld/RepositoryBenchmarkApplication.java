@@ -0,0 +1,69 @@
+package io.zhc1.realworld;
+
+import java.io.IOException;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.filter.TypeFilter;
+
+import io.zhc1.realworld.config.CacheConfiguration;
+
+/**
+ * Boots the persistence module on its own, like its tests do.
+ *
+ * <p>The server's classes are on the benchmark classpath too, and share the {@code config} package, so only classes
+ * of the persistence module are scanned.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(
+        basePackages = {"io.zhc1.realworld.config", "io.zhc1.realworld.persistence"},
+        excludeFilters = {
+            @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+            @ComponentScan.Filter(
+                    type = FilterType.CUSTOM,
+                    classes = RepositoryBenchmarkApplication.OutsidePersistenceModule.class)
+        })
+public class RepositoryBenchmarkApplication {
+    /**
+     * Start the persistence module on a database, creating the schema if it is missing.
+     *
+     * @param url JDBC URL of the database
+     * @return Returns the started context
+     */
+    public static ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(RepositoryBenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run(
+                        "--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--decorator.datasource.p6spy.enable-logging=false",
+                        "--realworld.outbox.dispatcher.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.zaxxer.hikari.HikariConfig=WARN");
+    }
+
+    static class OutsidePersistenceModule implements TypeFilter {
+        private static final String LOCATION = CacheConfiguration.class
+                .getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .toString();
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
+                throws IOException {
+            return !metadataReader.getResource().getURL().toString().contains(LOCATION);
+        }
+    }
+}
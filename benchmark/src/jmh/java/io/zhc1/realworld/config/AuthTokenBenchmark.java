@@ -0,0 +1,70 @@
+package io.zhc1.realworld.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.zhc1.realworld.model.TestUser;
+import io.zhc1.realworld.model.User;
+
+/**
+ * Issuing a token on login and sign up, and verifying it on every authenticated request, with the application's own
+ * key pair and the encoder and decoder it configures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthTokenBenchmark {
+    private final User user = new TestUser(UUID.randomUUID(), "bench@example.com", "bench", "password");
+    private final AuthTokenConverter converter = new AuthTokenConverter();
+
+    private AuthTokenProvider provider;
+    private JwtDecoder decoder;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        var configuration = new SecurityConfiguration();
+        var publicKey = readKey("app.pub", RsaKeyConverters.x509());
+        var privateKey = readKey("app.key", RsaKeyConverters.pkcs8());
+
+        provider = new AuthTokenProvider(configuration.jwtEncoder(publicKey, privateKey));
+        decoder = configuration.jwtDecoder(publicKey);
+        token = provider.createAuthToken(user);
+    }
+
+    @Benchmark
+    public String createAuthToken() {
+        return provider.createAuthToken(user);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public AuthToken decodeAndConvert() {
+        return converter.convert(decoder.decode(token));
+    }
+
+    private static <K> K readKey(String path, Converter<InputStream, K> converter) throws IOException {
+        try (var inputStream = new ClassPathResource(path).getInputStream()) {
+            return converter.convert(inputStream);
+        }
+    }
+}
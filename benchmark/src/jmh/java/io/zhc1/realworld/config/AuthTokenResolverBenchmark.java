@@ -0,0 +1,46 @@
+package io.zhc1.realworld.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/** Every request goes through the resolver, whether it carries a token or not. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthTokenResolverBenchmark {
+    private final AuthTokenResolver resolver = new AuthTokenResolver();
+
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup
+    public void setUp() {
+        // Note: A token of the length the application issues, i.e. an RS256 signed JWT with a handful of claims.
+        var token = "eyJhbGciOiJSUzI1NiJ9." + "eyJpc3MiOiJodHRwczovL3JlYWx3b3JsZC5pbyJ9".repeat(4) + "."
+                + "c2lnbmF0dXJl".repeat(28);
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/articles");
+        authenticatedRequest.addHeader(HttpHeaders.AUTHORIZATION, "Token " + token);
+
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/articles");
+    }
+
+    @Benchmark
+    public String resolveAuthorizationHeader() {
+        return resolver.resolve(authenticatedRequest);
+    }
+
+    @Benchmark
+    public String resolveAnonymous() {
+        return resolver.resolve(anonymousRequest);
+    }
+}
@@ -0,0 +1,43 @@
+package io.zhc1.realworld.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hashing on sign up and password change, and matching on every login. Both are deliberately slow, so this tells how
+ * many logins a core can take rather than anything to optimize away.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PasswordEncoderBenchmark {
+    private final SecurityPasswordEncoderAdapter passwordEncoder = new SecurityPasswordEncoderAdapter();
+
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encodedPassword = passwordEncoder.encode("password123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password123", encodedPassword);
+    }
+}
@@ -0,0 +1,96 @@
+package io.zhc1.realworld.config;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.zhc1.realworld.api.response.ArticleResponse;
+import io.zhc1.realworld.api.response.MultipleArticlesResponse;
+import io.zhc1.realworld.api.response.SingleArticleResponse;
+import io.zhc1.realworld.api.response.StreamingArticlesResponse;
+import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.Tag;
+import io.zhc1.realworld.model.TestArticle;
+import io.zhc1.realworld.model.TestUser;
+import io.zhc1.realworld.model.User;
+
+/**
+ * Writing article responses through the {@link ObjectMapper} the application configures, including building the
+ * response records from the articles the way the controllers do.
+ *
+ * <p>The allocation of streaming a list instead of building its response records shows in {@code gc.alloc.rate.norm},
+ * the bytes allocated per request, which the build reports with the {@code gc} profiler.
+ *
+ * <p>It lives in this package to build the mapper with {@link ObjectMapperConfiguration} itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+    @Param({"1", "20", "100"})
+    int articleCount;
+
+    private ObjectMapper objectMapper;
+    private List<ArticleDetails> articles;
+    private Set<UUID> followedAuthorIds;
+
+    @Setup
+    public void setUp() {
+        // Note: The same defaults Spring Boot applies to the builder it hands to the configuration.
+        objectMapper = new ObjectMapperConfiguration()
+                .objectMapper(Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+        var tags = List.of(new Tag("java"), new Tag("spring"), new Tag("performance"));
+        var authors = IntStream.range(0, 5)
+                .mapToObj(i -> (User) new TestUser(
+                        UUID.randomUUID(), "author" + i + "@example.com", "author" + i, "password"))
+                .toList();
+        articles = IntStream.range(0, articleCount)
+                .mapToObj(i -> {
+                    var article = new TestArticle(
+                            i,
+                            authors.get(i % authors.size()),
+                            "How to write article number " + i,
+                            "A description of a typical length for the article list",
+                            "The body is part of every article in the list. ".repeat(20));
+                    tags.forEach(tag -> article.addTag(new ArticleTag(article, tag)));
+                    return new ArticleDetails(article, i * 3, i % 2 == 0);
+                })
+                .toList();
+        followedAuthorIds = Set.of(authors.getFirst().getId(), authors.get(2).getId());
+    }
+
+    @Benchmark
+    public byte[] singleArticleResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new SingleArticleResponse(articles.getFirst()));
+    }
+
+    @Benchmark
+    public byte[] multipleArticlesResponse() throws JsonProcessingException {
+        var responses = articles.stream().map(ArticleResponse::new).toList();
+        return objectMapper.writeValueAsBytes(new MultipleArticlesResponse(responses));
+    }
+
+    @Benchmark
+    public byte[] streamingArticlesResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new StreamingArticlesResponse(articles, followedAuthorIds));
+    }
+}
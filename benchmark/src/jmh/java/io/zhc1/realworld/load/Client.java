@@ -0,0 +1,168 @@
+package io.zhc1.realworld.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zhc1.realworld.persistence.BenchmarkDataSet;
+import io.zhc1.realworld.persistence.Zipf;
+
+/**
+ * A user of the site, logged in as one of the users of the {@link BenchmarkDataSet}, who makes one request after the
+ * other without pausing. Articles and tags are picked by popularity, the same way the data set was drawn.
+ */
+final class Client implements Runnable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final int user;
+    private final Zipf popularArticles;
+    private final Zipf popularTags;
+    private final AtomicReference<LatencyReport> report;
+    private final BooleanSupplier running;
+
+    private final Set<String> favorites = new HashSet<>();
+    private String token;
+
+    Client(
+            HttpClient httpClient,
+            URI baseUri,
+            int user,
+            Zipf popularArticles,
+            Zipf popularTags,
+            AtomicReference<LatencyReport> report,
+            BooleanSupplier running) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.user = user;
+        this.popularArticles = popularArticles;
+        this.popularTags = popularTags;
+        this.report = report;
+        this.running = running;
+    }
+
+    /**
+     * Log in before the load starts, as hashing the password of every client at once would be the first thing measured.
+     *
+     * @throws IOException if the login failed
+     * @throws InterruptedException if interrupted while logging in
+     */
+    void logIn() throws IOException, InterruptedException {
+        var response = httpClient.send(logInRequest(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 201) {
+            throw new IOException("login of " + BenchmarkDataSet.username(user) + " failed: " + response.statusCode());
+        }
+        token = readToken(response.body());
+    }
+
+    @Override
+    public void run() {
+        var random = ThreadLocalRandom.current();
+        while (running.getAsBoolean()) {
+            var operation = Operation.pick(random.nextInt(Operation.TOTAL_SHARE));
+            var slug = BenchmarkDataSet.slug(popularArticles.next(random));
+            if (operation == Operation.FAVORITE && favorites.contains(slug)) {
+                operation = Operation.UNFAVORITE;
+            }
+
+            var request = request(operation, slug, random);
+            var startedIn = report.get();
+            long startedAt = System.nanoTime();
+            boolean failed;
+            boolean conflicted = false;
+            byte[] body = null;
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                body = response.body();
+                // Note: The article was favorited when the data set was seeded, or by another client of the same user.
+                conflicted = response.statusCode() == 400
+                        && (operation == Operation.FAVORITE || operation == Operation.UNFAVORITE);
+                failed = response.statusCode() >= 400 && !conflicted;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Note: Left out if the measurement started or ended meanwhile, so every request measured is within it.
+            if (report.get() == startedIn) {
+                startedIn.record(operation, System.nanoTime() - startedAt, failed, conflicted);
+            }
+
+            // Note: A conflict means the article already is as requested, so it is tracked as if the request succeeded.
+            switch (operation) {
+                case FAVORITE -> favorites.add(slug);
+                case UNFAVORITE -> favorites.remove(slug);
+                case LOGIN -> {
+                    if (!failed) {
+                        token = readToken(body);
+                    }
+                }
+                default -> {}
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, String slug, ThreadLocalRandom random) {
+        return switch (operation) {
+            case BROWSE -> {
+                var tag = random.nextBoolean() ? "&tag=" + BenchmarkDataSet.tag(popularTags.next(random)) : "";
+                yield get("/api/articles?offset=0&limit=20" + tag);
+            }
+            case BROWSE_TAGS -> get("/api/tags");
+            case READ -> get("/api/articles/" + slug);
+            case READ_COMMENTS -> get("/api/articles/" + slug + "/comments");
+            case FEED -> get("/api/articles/feed?offset=0&limit=20");
+            case FAVORITE -> authorized("/api/articles/" + slug + "/favorite")
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case UNFAVORITE -> authorized("/api/articles/" + slug + "/favorite")
+                    .DELETE()
+                    .build();
+            case COMMENT -> authorized("/api/articles/" + slug + "/comments")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            """
+                            {"comment":{"body":"Thanks for writing this, it helped a lot."}}"""))
+                    .build();
+            case LOGIN -> logInRequest();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header("Authorization", "Token " + token);
+    }
+
+    private HttpRequest logInRequest() {
+        var body =
+                """
+                {"user":{"email":"%s","password":"%s"}}"""
+                        .formatted(BenchmarkDataSet.email(user), BenchmarkDataSet.PASSWORD);
+        return HttpRequest.newBuilder(baseUri.resolve("/api/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String readToken(byte[] body) {
+        try {
+            return OBJECT_MAPPER.readTree(body).path("user").path("token").asText();
+        } catch (IOException e) {
+            return token;
+        }
+    }
+}
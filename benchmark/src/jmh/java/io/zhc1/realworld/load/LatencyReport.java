@@ -0,0 +1,109 @@
+package io.zhc1.realworld.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies of the requests made during one run, one histogram per {@link Operation}, recorded by many clients at once.
+ * A request that failed is recorded like any other, and also counted as an error. A favorite or unfavorite refused
+ * because the article already was as requested is counted as a conflict instead, as clients cannot know the favorites
+ * seeded with the data set.
+ */
+final class LatencyReport {
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> conflicts = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (var operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+            conflicts.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long elapsedNanos, boolean failed, boolean conflicted) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_LATENCY_MICROS);
+        latencies.get(operation).recordValue(micros);
+        if (failed) {
+            errors.get(operation).increment();
+        }
+        if (conflicted) {
+            conflicts.get(operation).increment();
+        }
+    }
+
+    private Histogram total() {
+        var total = new Histogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        latencies.values().forEach(total::add);
+        return total;
+    }
+
+    private long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private long totalConflicts() {
+        return conflicts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void print(PrintStream out, String title, Duration duration) {
+        printHeader(out, title, "Endpoint");
+        for (var operation : Operation.values()) {
+            var histogram = latencies.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                printRow(
+                        out,
+                        operation.endpoint(),
+                        histogram,
+                        errors.get(operation).sum(),
+                        conflicts.get(operation).sum(),
+                        duration);
+            }
+        }
+        printRow(out, "Total", total(), totalErrors(), totalConflicts(), duration);
+    }
+
+    /** Print the totals of several runs, keyed by the name of the run, one row each to compare them. */
+    static void printTotals(PrintStream out, String title, Map<String, LatencyReport> reports, Duration duration) {
+        printHeader(out, title, "Run");
+        reports.forEach((name, report) ->
+                printRow(out, name, report.total(), report.totalErrors(), report.totalConflicts(), duration));
+    }
+
+    private static void printHeader(PrintStream out, String title, String name) {
+        out.printf("%n%s%n", title);
+        out.printf(
+                "%-36s %10s %8s %9s %10s %9s %9s %9s %9s%n",
+                name, "Requests", "Errors", "Conflicts", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    private static void printRow(
+            PrintStream out, String name, Histogram histogram, long errors, long conflicts, Duration duration) {
+        out.printf(
+                "%-36s %10d %8d %9d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                conflicts,
+                histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
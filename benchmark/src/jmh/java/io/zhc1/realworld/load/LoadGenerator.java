@@ -0,0 +1,198 @@
+package io.zhc1.realworld.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import io.zhc1.realworld.RealWorldApplication;
+import io.zhc1.realworld.RepositoryBenchmarkApplication;
+import io.zhc1.realworld.persistence.BenchmarkDataSet;
+
+/**
+ * Drives a mixed workload of {@link Operation}s over HTTP against the whole server, booted in this JVM on a seeded
+ * {@link BenchmarkDataSet}, and reports the throughput and latency percentiles of each endpoint.
+ *
+ * <p>The run is repeated with the server handling requests on virtual threads and on a pool of platform threads, as
+ * switched by {@code spring.threads.virtual.enabled}. Every run starts from a copy of the same seeded database, so the
+ * writes of one run do not slow down the next. Rate limiting is turned off, as all clients share one address.
+ *
+ * <p>Clients send their next request as soon as the last one returned. When the server slows down, clients send less,
+ * so throughput and latencies have to be read together.
+ *
+ * <p>Options are given as {@code name=value} arguments:
+ *
+ * <ul>
+ *   <li>{@code concurrency}, the number of clients, 64 by default,
+ *   <li>{@code articles}, the size of the data set, 10000 by default,
+ *   <li>{@code warmup} and {@code duration} of each run, 10s and 30s by default,
+ *   <li>{@code modes}, the thread modes to run, {@code virtual,platform} by default.
+ * </ul>
+ */
+public final class LoadGenerator {
+    private static final Path DATA_DIRECTORY = Path.of("build", "load-data");
+
+    private LoadGenerator() {}
+
+    public static void main(String[] args) throws Exception {
+        var options = Options.parse(args);
+        var dataSet = new BenchmarkDataSet(options.articles());
+        var seed = DATA_DIRECTORY.resolve("seed-" + options.articles());
+        try (var context = RepositoryBenchmarkApplication.start(url(seed))) {
+            dataSet.seedIfMissing(context.getBean(DataSource.class));
+        }
+
+        var reports = new LinkedHashMap<String, LatencyReport>();
+        for (var mode : options.modes()) {
+            var name = mode.name().toLowerCase(Locale.ROOT) + " threads";
+            var report = run(mode, options, dataSet, seed);
+            report.print(
+                    System.out,
+                    "%s, %d clients, %s".formatted(name, options.concurrency(), options.duration()),
+                    options.duration());
+            reports.put(name, report);
+        }
+        if (reports.size() > 1) {
+            LatencyReport.printTotals(System.out, "All endpoints", reports, options.duration());
+        }
+    }
+
+    private static LatencyReport run(ThreadMode mode, Options options, BenchmarkDataSet dataSet, Path seed)
+            throws Exception {
+        var database = DATA_DIRECTORY.resolve("run-" + dataSet.articles());
+        Files.copy(file(seed), file(database), StandardCopyOption.REPLACE_EXISTING);
+
+        var report = new AtomicReference<>(new LatencyReport());
+        var running = new AtomicBoolean(true);
+
+        try (var server = new SpringApplicationBuilder(RealWorldApplication.class)
+                        .bannerMode(Banner.Mode.OFF)
+                        .initializers(context -> context.getBeanFactory()
+                                .registerSingleton("benchmarkClassesFilter", new BenchmarkClassesFilter()))
+                        .run(
+                                "--server.port=0",
+                                "--spring.datasource.url=" + url(database),
+                                "--spring.threads.virtual.enabled=" + (mode == ThreadMode.VIRTUAL),
+                                "--realworld.rate-limit.enabled=false",
+                                "--decorator.datasource.p6spy.enable-logging=false",
+                                "--logging.level.root=WARN",
+                                "--logging.level.com.zaxxer.hikari.HikariConfig=WARN");
+                var executor = Executors.newVirtualThreadPerTaskExecutor();
+                var httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(executor)
+                        .build()) {
+            int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+            var baseUri = URI.create("http://localhost:" + port);
+            var popularArticles = dataSet.articlePopularity();
+            var popularTags = dataSet.tagPopularity();
+
+            var clients = IntStream.range(0, options.concurrency())
+                    .mapToObj(i -> new Client(
+                            httpClient,
+                            baseUri,
+                            i % dataSet.users(),
+                            popularArticles,
+                            popularTags,
+                            report,
+                            running::get))
+                    .toList();
+            var logins = clients.stream()
+                    .map(client -> executor.submit(() -> {
+                        client.logIn();
+                        return null;
+                    }))
+                    .toList();
+            for (var login : logins) {
+                login.get();
+            }
+
+            clients.forEach(executor::execute);
+            Thread.sleep(options.warmup());
+            var measured = new LatencyReport();
+            report.set(measured);
+            Thread.sleep(options.duration());
+            // Note: Requests still running are left out, as clients only record into the report they started in.
+            report.set(new LatencyReport());
+            running.set(false);
+            return measured;
+        }
+    }
+
+    private static String url(Path database) {
+        return "jdbc:h2:file:" + database.toAbsolutePath() + ";MODE=MYSQL";
+    }
+
+    private static Path file(Path database) {
+        return database.resolveSibling(database.getFileName() + ".mv.db");
+    }
+
+    enum ThreadMode {
+        VIRTUAL,
+        PLATFORM
+    }
+
+    record Options(int concurrency, int articles, Duration warmup, Duration duration, List<ThreadMode> modes) {
+        private static final Set<String> NAMES = Set.of("concurrency", "articles", "warmup", "duration", "modes");
+
+        static Options parse(String[] args) {
+            var values = new HashMap<String, String>();
+            for (var arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 0 || !NAMES.contains(arg.substring(0, separator))) {
+                    throw new IllegalArgumentException("options must be one of " + NAMES + " as name=value: " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+
+            return new Options(
+                    Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                    Integer.parseInt(values.getOrDefault("articles", "10000")),
+                    DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                    DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                    Arrays.stream(values.getOrDefault("modes", "virtual,platform").split(","))
+                            .map(mode -> ThreadMode.valueOf(mode.trim().toUpperCase(Locale.ROOT)))
+                            .toList());
+        }
+    }
+
+    /**
+     * Keeps the classes of this module out of the component scan of the server, as they share its packages, and
+     * {@link RepositoryBenchmarkApplication} would boot the persistence module a second time.
+     */
+    static final class BenchmarkClassesFilter extends TypeExcludeFilter {
+        private static final String LOCATION = LoadGenerator.class
+                .getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .toString();
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
+                throws IOException {
+            return metadataReader.getResource().getURL().toString().startsWith(LOCATION);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.zhc1.realworld.load;
+
+import java.util.Arrays;
+
+/**
+ * What a client of the load test does, each with the share of the workload it takes and the endpoint it calls. The
+ * shares follow a blogging site, where reading outweighs writing by far.
+ */
+enum Operation {
+    BROWSE(25, "GET /api/articles"),
+    BROWSE_TAGS(5, "GET /api/tags"),
+    READ(25, "GET /api/articles/{slug}"),
+    READ_COMMENTS(15, "GET /api/articles/{slug}/comments"),
+    FEED(15, "GET /api/articles/feed"),
+    FAVORITE(6, "POST /api/articles/{slug}/favorite"),
+    /** Note: Never drawn, a client unfavorites instead of favoriting an article it already favorited. */
+    UNFAVORITE(0, "DELETE /api/articles/{slug}/favorite"),
+    COMMENT(6, "POST /api/articles/{slug}/comments"),
+    LOGIN(3, "POST /api/users/login");
+
+    static final int TOTAL_SHARE = Arrays.stream(values()).mapToInt(Operation::share).sum();
+
+    private final int share;
+    private final String endpoint;
+
+    Operation(int share, String endpoint) {
+        this.share = share;
+        this.endpoint = endpoint;
+    }
+
+    int share() {
+        return share;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Pick the operation a roll lands on.
+     *
+     * @param roll a number from 0 up to {@link #TOTAL_SHARE}, exclusive
+     * @return Returns the operation
+     */
+    static Operation pick(int roll) {
+        for (var operation : values()) {
+            roll -= operation.share;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("roll must be less than " + TOTAL_SHARE + ".");
+    }
+}
@@ -0,0 +1,28 @@
+package io.zhc1.realworld.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Slugs are derived from the title on every write and title edit. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArticleSlugBenchmark {
+    @Param({
+        "How to train your dragon",
+        "  Spring Boot 3 and Java 21:\tvirtual threads,   structured concurrency and the road to production  "
+    })
+    String title;
+
+    @Benchmark
+    public String titleToSlug() {
+        return Article.titleToSlug(title);
+    }
+}
@@ -0,0 +1,360 @@
+package io.zhc1.realworld.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.zhc1.realworld.model.TimeOrderedUuid;
+
+/**
+ * A data set of a given number of articles, seeded straight through JDBC in batches, as going through the entities
+ * would take hours at a million articles.
+ *
+ * <p>The shape follows what a blogging site sees:
+ *
+ * <ul>
+ *   <li>one user for every ten articles, and a few prolific users write most of the articles,
+ *   <li>{@value #TAGS} tags with one to four per article, a few of them on most articles,
+ *   <li>about two favorites per article, mostly on a few popular articles by a few active users, at most
+ *       {@value #MAX_FAVORITES_PER_USER} per user,
+ *   <li>one to twenty follows per user, mostly of a few popular users,
+ *   <li>one comment per article, mostly on the popular articles,
+ *   <li>articles written over the last two years, in the order of their ids.
+ * </ul>
+ *
+ * <p>All of it but the user ids is drawn from a fixed seed, so every run seeds the same data. Articles are numbered
+ * from 0, their ids from 1, and users and tags from 0, so keys can be derived from the numbers without reading them
+ * back. Every user logs in with {@value #PASSWORD}, and the id sequences start past the seeded rows, so the data set
+ * can also be written to.
+ */
+public final class BenchmarkDataSet {
+    public static final String PASSWORD = "password";
+    public static final int TAGS = 500;
+    public static final int MAX_FAVORITES_PER_USER = 1_000;
+    public static final int MAX_FOLLOWS_PER_USER = 20;
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final long SEED = 49L;
+    private static final Duration HISTORY = Duration.ofDays(730);
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final int articles;
+    private final int users;
+
+    public BenchmarkDataSet(int articles) {
+        this.articles = articles;
+        this.users = Math.max(articles / 10, 100);
+    }
+
+    public int articles() {
+        return articles;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public static int articleId(int article) {
+        return article + 1;
+    }
+
+    public static String slug(int article) {
+        return "article-" + article;
+    }
+
+    public static String title(int article) {
+        return "Article " + article;
+    }
+
+    public static String username(int user) {
+        return "user" + user;
+    }
+
+    public static String email(int user) {
+        return "user" + user + "@example.com";
+    }
+
+    public static String tag(int tag) {
+        return "tag" + tag;
+    }
+
+    /** Articles by popularity, ranked the same as when the favorites and comments were drawn. */
+    public Zipf articlePopularity() {
+        return new Zipf(articles, 1.0, new Random(SEED + 1));
+    }
+
+    /** Users by popularity, ranked the same as when the follows were drawn. */
+    public Zipf userPopularity() {
+        return new Zipf(users, 1.0, new Random(SEED + 2));
+    }
+
+    /** Tags by popularity, ranked the same as when the tags of the articles were drawn. */
+    public Zipf tagPopularity() {
+        return new Zipf(TAGS, 1.1, new Random(SEED + 3));
+    }
+
+    /**
+     * Seed the data set, unless the database already holds it. The schema is expected to exist.
+     *
+     * @param dataSource data source of the database
+     * @throws SQLException if seeding failed
+     */
+    public void seedIfMissing(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection()) {
+            if (isSeeded(connection)) {
+                return;
+            }
+
+            connection.setAutoCommit(false);
+            clear(connection);
+
+            var random = new Random(SEED);
+            var userIds = insertUsers(connection);
+            insertTags(connection);
+            insertArticles(connection, userIds, random);
+            insertFavorites(connection, userIds, random);
+            insertFollows(connection, userIds, random);
+            insertComments(connection, userIds, random);
+            restartSequences(connection);
+
+            try (var statement = connection.createStatement()) {
+                statement.execute("create table benchmark_seed (articles integer not null)");
+                statement.execute("insert into benchmark_seed (articles) values (" + articles + ")");
+            }
+            connection.commit();
+        }
+    }
+
+    private boolean isSeeded(Connection connection) {
+        try (var statement = connection.createStatement();
+                var resultSet = statement.executeQuery("select articles from benchmark_seed")) {
+            return resultSet.next() && resultSet.getInt(1) == articles;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void clear(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("drop table if exists benchmark_seed");
+            for (var table : new String[] {
+                "outbox_event", "article_comment", "article_favorite", "article_tag", "user_follow", "article", "tag",
+                "users"
+            }) {
+                statement.execute("delete from " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    private UUID[] insertUsers(Connection connection) throws SQLException {
+        var userIds = new UUID[users];
+        var createdAt = Timestamp.valueOf(LocalDateTime.now().minus(HISTORY));
+        // Note: Hashing takes a while on purpose, so all users share the one hash.
+        var password = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (var insert = connection.prepareStatement(
+                "insert into users (id, email, username, password, bio, created_at) values (?, ?, ?, ?, ?, ?)")) {
+            for (int user = 0; user < users; user++) {
+                userIds[user] = TimeOrderedUuid.generate();
+                insert.setObject(1, userIds[user]);
+                insert.setString(2, email(user));
+                insert.setString(3, username(user));
+                insert.setString(4, password);
+                insert.setString(5, "Writes about things, now and then.");
+                insert.setTimestamp(6, createdAt);
+                addBatch(connection, insert, user);
+            }
+            flush(connection, insert);
+        }
+        return userIds;
+    }
+
+    private static void insertTags(Connection connection) throws SQLException {
+        var createdAt = Timestamp.valueOf(LocalDateTime.now().minus(HISTORY));
+        try (var insert = connection.prepareStatement("insert into tag (name, created_at) values (?, ?)")) {
+            for (int tag = 0; tag < TAGS; tag++) {
+                insert.setString(1, tag(tag));
+                insert.setTimestamp(2, createdAt);
+                addBatch(connection, insert, tag);
+            }
+            flush(connection, insert);
+        }
+    }
+
+    private void insertArticles(Connection connection, UUID[] userIds, Random random) throws SQLException {
+        var authors = new Zipf(users, 1.0, random);
+        var tags = tagPopularity();
+        var content = "The body of an article, which is the longest part of it. ".repeat(6);
+        var startedAt = LocalDateTime.now().minus(HISTORY);
+        long step = HISTORY.toMillis() / articles;
+
+        int articleTagId = 1;
+        try (var insertArticle = connection.prepareStatement(
+                        """
+                        insert into article
+                            (id, author_id, slug, title, description, content, created_at, updated_at, version)
+                        values (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                        """);
+                var insertArticleTag = connection.prepareStatement(
+                        "insert into article_tag (id, article_id, tag_name, created_at) values (?, ?, ?, ?)")) {
+            for (int article = 0; article < articles; article++) {
+                var createdAt = Timestamp.valueOf(startedAt.plus(Duration.ofMillis(step * article)));
+                insertArticle.setInt(1, articleId(article));
+                insertArticle.setObject(2, userIds[authors.next()]);
+                insertArticle.setString(3, slug(article));
+                insertArticle.setString(4, title(article));
+                insertArticle.setString(5, "A description of what the article is about.");
+                insertArticle.setString(6, content);
+                insertArticle.setTimestamp(7, createdAt);
+                insertArticle.setTimestamp(8, createdAt);
+                addBatch(connection, insertArticle, article);
+
+                var articleTags = new HashSet<Integer>();
+                int tagCount = 1 + random.nextInt(4);
+                while (articleTags.size() < tagCount) {
+                    articleTags.add(tags.next());
+                }
+                for (int tag : articleTags) {
+                    insertArticleTag.setInt(1, articleTagId);
+                    insertArticleTag.setInt(2, articleId(article));
+                    insertArticleTag.setString(3, tag(tag));
+                    insertArticleTag.setTimestamp(4, createdAt);
+                    // Note: Article tags reference articles, so they are only sent after the batch of their articles.
+                    insertArticleTag.addBatch();
+                    articleTagId++;
+                }
+                if ((article + 1) % BATCH_SIZE == 0) {
+                    insertArticleTag.executeBatch();
+                    connection.commit();
+                }
+            }
+            flush(connection, insertArticle);
+            flush(connection, insertArticleTag);
+        }
+    }
+
+    private void insertFavorites(Connection connection, UUID[] userIds, Random random) throws SQLException {
+        var activeUsers = new Zipf(users, 1.0, random);
+        var popularArticles = articlePopularity();
+        var createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        int favoriteId = 1;
+        try (var insert = connection.prepareStatement(
+                "insert into article_favorite (id, user_id, article_id, created_at) values (?, ?, ?, ?)")) {
+            for (int rank = 0; rank < users; rank++) {
+                int user = activeUsers.itemAt(rank);
+                long wanted = Math.round(2.0 * articles * activeUsers.probabilityAt(rank));
+                int favorites = (int) Math.min(Math.min(Math.max(wanted, 1), MAX_FAVORITES_PER_USER), articles);
+
+                for (int article : distinct(popularArticles, favorites, -1)) {
+                    insert.setInt(1, favoriteId);
+                    insert.setObject(2, userIds[user]);
+                    insert.setInt(3, articleId(article));
+                    insert.setTimestamp(4, createdAt);
+                    addBatch(connection, insert, favoriteId);
+                    favoriteId++;
+                }
+            }
+            flush(connection, insert);
+        }
+    }
+
+    private void insertFollows(Connection connection, UUID[] userIds, Random random) throws SQLException {
+        var popularUsers = userPopularity();
+        var createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        int followId = 1;
+        try (var insert = connection.prepareStatement(
+                "insert into user_follow (id, follower_id, following_id, created_at) values (?, ?, ?, ?)")) {
+            for (int follower = 0; follower < users; follower++) {
+                int follows = 1 + random.nextInt(MAX_FOLLOWS_PER_USER);
+                for (int following : distinct(popularUsers, follows, follower)) {
+                    insert.setInt(1, followId);
+                    insert.setObject(2, userIds[follower]);
+                    insert.setObject(3, userIds[following]);
+                    insert.setTimestamp(4, createdAt);
+                    addBatch(connection, insert, followId);
+                    followId++;
+                }
+            }
+            flush(connection, insert);
+        }
+    }
+
+    private void insertComments(Connection connection, UUID[] userIds, Random random) throws SQLException {
+        var popularArticles = articlePopularity();
+        var createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        try (var insert = connection.prepareStatement(
+                """
+                insert into article_comment (id, article_id, author_id, content, created_at)
+                values (?, ?, ?, ?, ?)
+                """)) {
+            for (int comment = 0; comment < articles; comment++) {
+                insert.setInt(1, comment + 1);
+                insert.setInt(2, articleId(popularArticles.next()));
+                insert.setObject(3, userIds[random.nextInt(users)]);
+                insert.setString(4, "A comment on the article.");
+                insert.setTimestamp(5, createdAt);
+                addBatch(connection, insert, comment);
+            }
+            flush(connection, insert);
+        }
+    }
+
+    private static void restartSequences(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            for (var table :
+                    new String[] {"article", "article_tag", "article_favorite", "user_follow", "article_comment"}) {
+                int maxId;
+                try (var resultSet = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+                    resultSet.next();
+                    maxId = resultSet.getInt(1);
+                }
+                // Note: Hibernate hands out the ids below the value it gets from a sequence, so start a block later.
+                statement.execute(
+                        "alter sequence " + table + "_seq restart with " + (maxId + ID_ALLOCATION_SIZE + 1));
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Draw distinct items, giving up after a while when the popular items keep coming up.
+     *
+     * @param excluded item never to draw, or -1
+     */
+    private static HashSet<Integer> distinct(Zipf zipf, int count, int excluded) {
+        var items = new HashSet<Integer>();
+        int wanted = Math.min(count, zipf.size() - (excluded < 0 ? 0 : 1));
+        for (int attempt = 0; items.size() < wanted && attempt < wanted * 20; attempt++) {
+            int item = zipf.next();
+            if (item != excluded) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static void addBatch(Connection connection, PreparedStatement insert, int row) throws SQLException {
+        insert.addBatch();
+        if ((row + 1) % BATCH_SIZE == 0) {
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement insert) throws SQLException {
+        insert.executeBatch();
+        connection.commit();
+    }
+}
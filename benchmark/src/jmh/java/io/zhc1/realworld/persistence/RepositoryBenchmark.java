@@ -0,0 +1,337 @@
+package io.zhc1.realworld.persistence;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zhc1.realworld.RepositoryBenchmarkApplication;
+import io.zhc1.realworld.context.RequestContext;
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleComment;
+import io.zhc1.realworld.model.ArticleCommentRepository;
+import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleFacets;
+import io.zhc1.realworld.model.ArticleRepository;
+import io.zhc1.realworld.model.ArticleVersion;
+import io.zhc1.realworld.model.ProfileVersion;
+import io.zhc1.realworld.model.User;
+import io.zhc1.realworld.model.UserFollow;
+import io.zhc1.realworld.model.UserRelationshipRepository;
+import io.zhc1.realworld.model.UserRepository;
+
+/**
+ * The read methods of the repositories against a file-based H2 database holding a {@link BenchmarkDataSet} of 10
+ * thousand, 100 thousand and a million articles, so queries that only slow down as the tables grow show up before
+ * production does.
+ *
+ * <p>Keys are drawn by popularity, the way requests hit a blogging site, from a fixed sample so every run asks for the
+ * same rows. Besides the time of a call, each benchmark reports the {@code statements} it executed, counted the way
+ * the server counts them for a request; divided by {@code calls}, they give the statements per call, which should not
+ * grow with the data.
+ *
+ * <p>Writes are left out, so the data stays the same between runs and can be seeded once per scale. Seeding takes a
+ * few minutes at a million articles, and the databases are kept in {@code build/benchmark-data}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryBenchmark {
+    private static final int SAMPLES = 1 << 10;
+    private static final int BATCH_SIZE = 20;
+    private static final ArticleFacets FIRST_PAGE = new ArticleFacets(0, 20);
+
+    @Param({"10000", "100000", "1000000"})
+    int articles;
+
+    private ConfigurableApplicationContext context;
+    private ArticleRepository articleRepository;
+    private ArticleCommentRepository articleCommentRepository;
+    private UserRelationshipRepository userRelationshipRepository;
+    private UserRepository userRepository;
+
+    private final List<Article> sampleArticles = new ArrayList<>();
+    private final List<User> sampleUsers = new ArrayList<>();
+    private final List<User> sampleAuthors = new ArrayList<>();
+    private final List<String> sampleTags = new ArrayList<>();
+    private final List<List<User>> sampleFollowings = new ArrayList<>();
+    private final List<List<Article>> articleBatches = new ArrayList<>();
+    private final List<List<User>> userBatches = new ArrayList<>();
+    private final List<Integer> sampleCommentIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws SQLException {
+        context = RepositoryBenchmarkApplication.start(
+                "jdbc:h2:file:./build/benchmark-data/realworld-" + articles + ";MODE=MYSQL");
+
+        var dataSet = new BenchmarkDataSet(articles);
+        dataSet.seedIfMissing(context.getBean(DataSource.class));
+
+        articleRepository = context.getBean(ArticleRepository.class);
+        articleCommentRepository = context.getBean(ArticleCommentRepository.class);
+        userRelationshipRepository = context.getBean(UserRelationshipRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+
+        var popularArticles = dataSet.articlePopularity();
+        var popularUsers = dataSet.userPopularity();
+        var popularTags = dataSet.tagPopularity();
+
+        for (int i = 0; i < SAMPLES; i++) {
+            var article = articleRepository
+                    .findBySlug(BenchmarkDataSet.slug(popularArticles.next()))
+                    .orElseThrow();
+            var user = userRepository
+                    .findByUsername(BenchmarkDataSet.username(popularUsers.next()))
+                    .orElseThrow();
+            var followings = userRelationshipRepository.findByFollower(user).stream()
+                    .map(UserFollow::getFollowing)
+                    .toList();
+
+            sampleArticles.add(article);
+            sampleUsers.add(user);
+            sampleAuthors.add(article.getAuthor());
+            sampleTags.add(BenchmarkDataSet.tag(popularTags.next()));
+            sampleFollowings.add(followings);
+            articleBatches.add(IntStream.range(0, BATCH_SIZE)
+                    .mapToObj(j -> articleRepository
+                            .findBySlug(BenchmarkDataSet.slug(popularArticles.next()))
+                            .orElseThrow())
+                    .toList());
+            userBatches.add(IntStream.range(0, BATCH_SIZE)
+                    .mapToObj(j -> userRepository
+                            .findByUsername(BenchmarkDataSet.username(popularUsers.next()))
+                            .orElseThrow())
+                    .toList());
+            articleCommentRepository.findByArticle(article).stream()
+                    .findFirst()
+                    .map(ArticleComment::getId)
+                    .ifPresent(sampleCommentIds::add);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Counts the statements executed by the calls of a benchmark thread during an iteration. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long calls;
+
+        private RequestContext requestContext;
+        private int sample;
+
+        @Setup(Level.Iteration)
+        public void begin() {
+            statements = 0;
+            calls = 0;
+            requestContext = RequestContext.begin(null);
+        }
+
+        @TearDown(Level.Iteration)
+        public void end() {
+            RequestContext.end();
+        }
+
+        int nextSample() {
+            return sample++ & (SAMPLES - 1);
+        }
+
+        <T> T counted(Supplier<T> call) {
+            var result = call.get();
+            calls++;
+            statements = requestContext.statementCount();
+            return result;
+        }
+    }
+
+    @Benchmark
+    public List<Article> articlesFindAll(Statements statements) {
+        return statements.counted(() -> articleRepository.findAll(FIRST_PAGE));
+    }
+
+    @Benchmark
+    public List<Article> articlesFindAllByTag(Statements statements) {
+        var tag = sampleTags.get(statements.nextSample());
+        return statements.counted(() -> articleRepository.findAll(new ArticleFacets(tag, null, null, 0, 20)));
+    }
+
+    @Benchmark
+    public List<Article> articlesFindAllByAuthor(Statements statements) {
+        var author = sampleAuthors.get(statements.nextSample()).getUsername();
+        return statements.counted(() -> articleRepository.findAll(new ArticleFacets(null, author, null, 0, 20)));
+    }
+
+    @Benchmark
+    public List<Article> articlesFindAllByFavorited(Statements statements) {
+        var favorited = sampleUsers.get(statements.nextSample()).getUsername();
+        return statements.counted(() -> articleRepository.findAll(new ArticleFacets(null, null, favorited, 0, 20)));
+    }
+
+    @Benchmark
+    public Article articlesFindBySlug(Statements statements) {
+        var slug = sampleArticles.get(statements.nextSample()).getSlug();
+        return statements.counted(() -> articleRepository.findBySlug(slug).orElseThrow());
+    }
+
+    @Benchmark
+    public List<Article> articlesFindBySlugs(Statements statements) {
+        var slugs = articleBatches.get(statements.nextSample()).stream()
+                .map(Article::getSlug)
+                .toList();
+        return statements.counted(() -> articleRepository.findBySlugs(slugs));
+    }
+
+    @Benchmark
+    public List<Article> articlesFindByAuthors(Statements statements) {
+        var followings = sampleFollowings.get(statements.nextSample());
+        return statements.counted(() -> articleRepository.findByAuthors(followings, FIRST_PAGE));
+    }
+
+    @Benchmark
+    public ArticleVersion articlesFindVersion(Statements statements) {
+        var slug = sampleArticles.get(statements.nextSample()).getSlug();
+        return statements.counted(() -> articleRepository.findVersion(slug).orElseThrow());
+    }
+
+    @Benchmark
+    public ArticleVersion articlesFindVersionForRequester(Statements statements) {
+        int sample = statements.nextSample();
+        var requesterId = sampleUsers.get(sample).getId();
+        var slug = sampleArticles.get(sample).getSlug();
+        return statements.counted(() -> articleRepository.findVersion(requesterId, slug).orElseThrow());
+    }
+
+    @Benchmark
+    public ArticleDetails articlesFindArticleDetails(Statements statements) {
+        var article = sampleArticles.get(statements.nextSample());
+        return statements.counted(() -> articleRepository.findArticleDetails(article));
+    }
+
+    @Benchmark
+    public ArticleDetails articlesFindArticleDetailsForRequester(Statements statements) {
+        int sample = statements.nextSample();
+        var requester = sampleUsers.get(sample);
+        var article = sampleArticles.get(sample);
+        return statements.counted(() -> articleRepository.findArticleDetails(requester, article));
+    }
+
+    @Benchmark
+    public List<ArticleDetails> articlesFindArticleDetailsOfPage(Statements statements) {
+        var articles = articleBatches.get(statements.nextSample());
+        return statements.counted(() -> articleRepository.findArticleDetails(articles));
+    }
+
+    @Benchmark
+    public boolean articlesExistsByTitle(Statements statements) {
+        var title = sampleArticles.get(statements.nextSample()).getTitle();
+        return statements.counted(() -> articleRepository.existsBy(title));
+    }
+
+    @Benchmark
+    public List<ArticleComment> commentsFindByArticle(Statements statements) {
+        var article = sampleArticles.get(statements.nextSample());
+        return statements.counted(() -> articleCommentRepository.findByArticle(article));
+    }
+
+    @Benchmark
+    public ArticleComment commentsFindById(Statements statements) {
+        int commentId = sampleCommentIds.get(statements.nextSample() % sampleCommentIds.size());
+        return statements.counted(() -> articleCommentRepository.findById(commentId).orElseThrow());
+    }
+
+    @Benchmark
+    public List<UserFollow> relationshipsFindByFollower(Statements statements) {
+        var follower = sampleUsers.get(statements.nextSample());
+        return statements.counted(() -> userRelationshipRepository.findByFollower(follower));
+    }
+
+    @Benchmark
+    public boolean relationshipsExistsBy(Statements statements) {
+        int sample = statements.nextSample();
+        var follower = sampleUsers.get(sample);
+        var following = sampleAuthors.get(sample);
+        return statements.counted(() -> userRelationshipRepository.existsBy(follower, following));
+    }
+
+    @Benchmark
+    public Set<UUID> relationshipsFindFollowingIds(Statements statements) {
+        int sample = statements.nextSample();
+        var follower = sampleUsers.get(sample);
+        var authors = articleBatches.get(sample).stream().map(Article::getAuthor).toList();
+        return statements.counted(() -> userRelationshipRepository.findFollowingIds(follower, authors));
+    }
+
+    @Benchmark
+    public User usersFindById(Statements statements) {
+        var id = sampleUsers.get(statements.nextSample()).getId();
+        return statements.counted(() -> userRepository.findById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public User usersFindByEmail(Statements statements) {
+        var email = sampleUsers.get(statements.nextSample()).getEmail();
+        return statements.counted(() -> userRepository.findByEmail(email).orElseThrow());
+    }
+
+    @Benchmark
+    public User usersFindByUsername(Statements statements) {
+        var username = sampleUsers.get(statements.nextSample()).getUsername();
+        return statements.counted(() -> userRepository.findByUsername(username).orElseThrow());
+    }
+
+    @Benchmark
+    public List<User> usersFindByUsernames(Statements statements) {
+        var usernames = userBatches.get(statements.nextSample()).stream()
+                .map(User::getUsername)
+                .toList();
+        return statements.counted(() -> userRepository.findByUsernames(usernames));
+    }
+
+    @Benchmark
+    public ProfileVersion usersFindProfileVersion(Statements statements) {
+        var username = sampleAuthors.get(statements.nextSample()).getUsername();
+        return statements.counted(() -> userRepository.findProfileVersion(username).orElseThrow());
+    }
+
+    @Benchmark
+    public ProfileVersion usersFindProfileVersionForViewer(Statements statements) {
+        int sample = statements.nextSample();
+        var viewerId = sampleUsers.get(sample).getId();
+        var username = sampleAuthors.get(sample).getUsername();
+        return statements.counted(() -> userRepository.findProfileVersion(viewerId, username).orElseThrow());
+    }
+
+    @Benchmark
+    public boolean usersExistsBy(Statements statements) {
+        var user = sampleUsers.get(statements.nextSample());
+        return statements.counted(() -> userRepository.existsBy(user.getEmail(), user.getUsername()));
+    }
+}
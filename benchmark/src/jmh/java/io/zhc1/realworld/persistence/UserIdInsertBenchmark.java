@@ -0,0 +1,180 @@
+package io.zhc1.realworld.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.zhc1.realworld.model.TimeOrderedUuid;
+
+/**
+ * Loading users with random (version 4) and time-ordered (version 7) ids into a file-based H2 database, together with
+ * the rows that reference them through indexed foreign keys: an article written, an article favorited and a user
+ * followed by each new user. Random ids scatter the inserts across the primary key of users and across
+ * {@code article.author_id}, {@code article_favorite.user_id} and {@code user_follow.follower_id}, while time-ordered
+ * ids append to their right-hand side.
+ *
+ * <p>Each iteration loads a fresh database and is timed as a single shot. The space taken by the users table and by the
+ * referencing tables, each with its indexes, and the size of the database file are reported as {@code usersBytes},
+ * {@code referencingBytes} and {@code fileBytes}. The page split policy of the storage engine decides how much space
+ * sequential keys save, so H2 results should be confirmed on the production database.
+ *
+ * <p>At the default of 10 million users it takes minutes and several gigabytes of disk per id type, so it is left out
+ * of {@code benchmark:jmh} and run from the jar built by {@code benchmark:jmhJar}, where {@code -p users=1000000} makes
+ * a smaller run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class UserIdInsertBenchmark {
+    private static final int BATCH_SIZE = 10_000;
+    private static final Path DATA_DIRECTORY = Path.of("build", "benchmark-data");
+
+    private static final String SCHEMA =
+            """
+            create table users (id uuid not null, created_at timestamp(6) not null, primary key (id));
+            create table article (
+                id integer not null, author_id uuid not null, created_at timestamp(6) not null, primary key (id),
+                foreign key (author_id) references users);
+            create table article_favorite (
+                id integer not null, user_id uuid, article_id integer, created_at timestamp(6) not null,
+                primary key (id), unique (user_id, article_id),
+                foreign key (user_id) references users, foreign key (article_id) references article);
+            create table user_follow (
+                id integer not null, follower_id uuid, following_id uuid, created_at timestamp(6) not null,
+                primary key (id), unique (follower_id, following_id),
+                foreign key (follower_id) references users, foreign key (following_id) references users);
+            create index idx_article_author_id_created_at on article (author_id, created_at);
+            create index idx_article_favorite_article_id on article_favorite (article_id);
+            create index idx_user_follow_following_id on user_follow (following_id);
+            """;
+
+    @Param({"random", "time-ordered"})
+    String ids;
+
+    @Param({"10000000"})
+    int users;
+
+    private Path database;
+    private Connection connection;
+
+    /** Space taken by the database once loaded. Set after the load, so it is not part of the measured time. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Storage {
+        public long usersBytes;
+        public long referencingBytes;
+        public long fileBytes;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException, IOException {
+        Files.createDirectories(DATA_DIRECTORY);
+        database = DATA_DIRECTORY.resolve("user-ids-" + ids).toAbsolutePath();
+        Files.deleteIfExists(Path.of(database + ".mv.db"));
+
+        connection = DriverManager.getConnection("jdbc:h2:file:" + database + ";MODE=MYSQL", "sa", "");
+        try (var statement = connection.createStatement()) {
+            statement.execute(SCHEMA);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Benchmark
+    public void load() throws SQLException {
+        Supplier<UUID> idGenerator = ids.equals("random") ? UUID::randomUUID : TimeOrderedUuid::generate;
+        var userIds = new UUID[users];
+        var random = new Random(34);
+        var createdAt = new Timestamp(System.currentTimeMillis());
+
+        try (var insertUser = connection.prepareStatement("insert into users (id, created_at) values (?, ?)");
+                var insertArticle = connection.prepareStatement(
+                        "insert into article (id, author_id, created_at) values (?, ?, ?)");
+                var insertFavorite = connection.prepareStatement(
+                        "insert into article_favorite (id, user_id, article_id, created_at) values (?, ?, ?, ?)");
+                var insertFollow = connection.prepareStatement(
+                        "insert into user_follow (id, follower_id, following_id, created_at) values (?, ?, ?, ?)")) {
+            for (int user = 0; user < users; user++) {
+                userIds[user] = idGenerator.get();
+                int id = user + 1;
+
+                insertUser.setObject(1, userIds[user]);
+                insertUser.setTimestamp(2, createdAt);
+                insertUser.addBatch();
+
+                insertArticle.setInt(1, id);
+                insertArticle.setObject(2, userIds[user]);
+                insertArticle.setTimestamp(3, createdAt);
+                insertArticle.addBatch();
+
+                // Note: Users favorite and follow what is already there, so only the new user's own key is ordered.
+                insertFavorite.setInt(1, id);
+                insertFavorite.setObject(2, userIds[user]);
+                insertFavorite.setInt(3, 1 + random.nextInt(id));
+                insertFavorite.setTimestamp(4, createdAt);
+                insertFavorite.addBatch();
+
+                insertFollow.setInt(1, id);
+                insertFollow.setObject(2, userIds[user]);
+                insertFollow.setObject(3, userIds[random.nextInt(id)]);
+                insertFollow.setTimestamp(4, createdAt);
+                insertFollow.addBatch();
+
+                if (id % BATCH_SIZE == 0 || id == users) {
+                    // Note: In the order of the foreign keys, so every row finds what it references.
+                    insertUser.executeBatch();
+                    insertArticle.executeBatch();
+                    insertFavorite.executeBatch();
+                    insertFollow.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown(Storage storage) throws SQLException, IOException {
+        try (var statement = connection.createStatement()) {
+            storage.usersBytes = diskSpaceUsed(statement, "USERS");
+            storage.referencingBytes = diskSpaceUsed(statement, "ARTICLE")
+                    + diskSpaceUsed(statement, "ARTICLE_FAVORITE")
+                    + diskSpaceUsed(statement, "USER_FOLLOW");
+            statement.execute("checkpoint sync");
+        }
+        connection.close();
+        storage.fileBytes = Files.size(Path.of(database + ".mv.db"));
+    }
+
+    private static long diskSpaceUsed(Statement statement, String table) throws SQLException {
+        try (var resultSet = statement.executeQuery("select disk_space_used('" + table + "')")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.zhc1.realworld.persistence;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws items {@code 0..n-1} following Zipf's law: the item of rank {@code k} is drawn with a probability proportional
+ * to {@code 1 / k^exponent}, so a few items are drawn most of the time and most items hardly ever. Ranks are assigned
+ * to items in random order, so popularity does not follow the item number.
+ */
+public final class Zipf {
+    private final double[] cumulativeWeights;
+    private final int[] itemsByRank;
+    private final Random random;
+
+    Zipf(int n, double exponent, Random random) {
+        this.cumulativeWeights = new double[n];
+        this.itemsByRank = new int[n];
+        this.random = random;
+
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulativeWeights[rank] = total;
+            itemsByRank[rank] = rank;
+        }
+
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int item = itemsByRank[i];
+            itemsByRank[i] = itemsByRank[j];
+            itemsByRank[j] = item;
+        }
+    }
+
+    public int next() {
+        return next(random);
+    }
+
+    /**
+     * Draw an item with another source of randomness, for example {@link java.util.concurrent.ThreadLocalRandom} to
+     * draw from several threads without contention.
+     *
+     * @param random source of randomness
+     * @return Returns the item number
+     */
+    public int next(Random random) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int rank = Arrays.binarySearch(cumulativeWeights, target);
+        return itemsByRank[rank >= 0 ? rank : -rank - 1];
+    }
+
+    public int size() {
+        return itemsByRank.length;
+    }
+
+    /**
+     * Get the item of a rank, the item of rank 0 being the one drawn most often.
+     *
+     * @param rank rank of the item
+     * @return Returns the item number
+     */
+    int itemAt(int rank) {
+        return itemsByRank[rank];
+    }
+
+    /**
+     * Get the share of draws the item of a rank gets.
+     *
+     * @param rank rank of the item
+     * @return Returns the probability of drawing the item
+     */
+    double probabilityAt(int rank) {
+        double weight = cumulativeWeights[rank] - (rank == 0 ? 0 : cumulativeWeights[rank - 1]);
+        return weight / cumulativeWeights[cumulativeWeights.length - 1];
+    }
+}
@@ -6,6 +6,7 @@ plugins {
     alias(libs.plugins.spotless)
     alias(libs.plugins.spring.boot) apply false
     alias(libs.plugins.spring.dependency.management) apply false
+    alias(libs.plugins.jmh) apply false
 }
 
 // Resolving the issue of not being able to reference the version catalog in allprojects and subprojects scopes
@@ -0,0 +1,89 @@
+package io.zhc1.realworld.context;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Information about the request being handled by the current thread, bound by the server for the duration of a request.
+ *
+ * <p>It is not inherited by threads started while handling the request, as pooled threads outlive the request that
+ * happened to start them. Work forked for a request has to {@link #bind(RequestContext)} the context itself to be
+ * attributed to it. Outside a request, for example in scheduled jobs or tests, there is no current context.
+ *
+ * <p>It also counts the SQL statements and database connections used by the request, which may be recorded by several
+ * threads at once.
+ */
+public final class RequestContext {
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    private final UUID requesterId;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+
+    private RequestContext(UUID requesterId) {
+        this.requesterId = requesterId;
+    }
+
+    /**
+     * Bind a new context to the current thread.
+     *
+     * @param requesterId id of the authenticated user, or null for anonymous requests
+     * @return Returns the bound context
+     */
+    public static RequestContext begin(UUID requesterId) {
+        var context = new RequestContext(requesterId);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * Bind the context of a request to the current thread, which does work forked for that request.
+     *
+     * @param context context of the request
+     */
+    public static void bind(RequestContext context) {
+        CURRENT.set(context);
+    }
+
+    public static Optional<RequestContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public Optional<UUID> requesterId() {
+        return Optional.ofNullable(requesterId);
+    }
+
+    /**
+     * Record an executed SQL statement. A batch counts as a single statement.
+     *
+     * @param elapsedNanos execution time of the statement
+     */
+    public void recordStatement(long elapsedNanos) {
+        statements.increment();
+        statementNanos.add(elapsedNanos);
+    }
+
+    public void recordConnection() {
+        connections.increment();
+    }
+
+    public long statementCount() {
+        return statements.sum();
+    }
+
+    public Duration statementTime() {
+        return Duration.ofNanos(statementNanos.sum());
+    }
+
+    public long connectionCount() {
+        return connections.sum();
+    }
+}
@@ -12,9 +12,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -24,10 +28,14 @@ import lombok.NoArgsConstructor;
 @Getter
 @SuppressWarnings("JpaDataSourceORMInspection")
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "article",
+        indexes = @Index(name = "idx_article_author_id_created_at", columnList = "author_id, created_at"))
 public class Article {
     @Id
     @SuppressWarnings("unused")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -54,7 +62,12 @@ public class Article {
 
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    private static String titleToSlug(String title) {
+    /** Note: Checked on every update, so an edit based on an outdated copy of the article fails instead of winning. */
+    @Version
+    @SuppressWarnings("unused")
+    private long version;
+
+    static String titleToSlug(String title) {
         return title.toLowerCase().replaceAll("\\s+", "-");
     }
 
@@ -0,0 +1,8 @@
+package io.zhc1.realworld.model;
+
+/** Thrown when an article is saved from a copy that another request has edited since it was read. */
+public class ArticleEditConflictException extends RuntimeException {
+    public ArticleEditConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
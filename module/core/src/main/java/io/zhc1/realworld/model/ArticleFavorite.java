@@ -8,8 +8,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
@@ -22,10 +24,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(
         name = "article_favorite",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "article_id"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"user_id", "article_id"})},
+        indexes = @Index(name = "idx_article_favorite_article_id", columnList = "article_id"))
 public class ArticleFavorite {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_favorite_seq")
+    @SequenceGenerator(name = "article_favorite_seq", sequenceName = "article_favorite_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
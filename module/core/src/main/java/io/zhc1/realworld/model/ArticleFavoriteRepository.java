@@ -1,9 +1,14 @@
 package io.zhc1.realworld.model;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface ArticleFavoriteRepository {
     void save(ArticleFavorite articleFavorite);
 
     void deleteBy(User user, Article article);
 
     boolean existsBy(User user, Article article);
+
+    Set<Integer> findFavoritedArticleIds(User user, Collection<Article> articles);
 }
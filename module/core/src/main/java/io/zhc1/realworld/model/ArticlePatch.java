@@ -0,0 +1,14 @@
+package io.zhc1.realworld.model;
+
+/**
+ * Changes to apply to an article in a single edit. A null field is left unchanged.
+ *
+ * @param title new title, which also changes the slug
+ * @param description new description
+ * @param content new content
+ */
+public record ArticlePatch(String title, String description, String content) {
+    public boolean isEmpty() {
+        return title == null && description == null && content == null;
+    }
+}
@@ -3,6 +3,7 @@ package io.zhc1.realworld.model;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface ArticleRepository {
     Article save(Article article);
@@ -11,14 +12,24 @@ public interface ArticleRepository {
 
     List<Article> findAll(ArticleFacets facets);
 
+    Optional<Article> findById(int id);
+
     Optional<Article> findBySlug(String slug);
 
+    List<Article> findBySlugs(Collection<String> slugs);
+
     List<Article> findByAuthors(Collection<User> authors, ArticleFacets facets);
 
+    Optional<ArticleVersion> findVersion(String slug);
+
+    Optional<ArticleVersion> findVersion(UUID requesterId, String slug);
+
     ArticleDetails findArticleDetails(Article article);
 
     ArticleDetails findArticleDetails(User requester, Article article);
 
+    List<ArticleDetails> findArticleDetails(List<Article> articles);
+
     void delete(Article article);
 
     boolean existsBy(String title);
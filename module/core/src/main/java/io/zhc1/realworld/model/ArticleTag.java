@@ -8,8 +8,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
@@ -24,11 +26,13 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(
         name = "article_tag",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"article_id", "tag_name"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"article_id", "tag_name"})},
+        indexes = @Index(name = "idx_article_tag_tag_name", columnList = "tag_name"))
 public class ArticleTag {
     @Id
     @SuppressWarnings("unused")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_tag_seq")
+    @SequenceGenerator(name = "article_tag_seq", sequenceName = "article_tag_seq", allocationSize = 50)
     private Integer id;
 
     @Setter
@@ -0,0 +1,22 @@
+package io.zhc1.realworld.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything an article response depends on that can change after the article was written, read in a single query
+ * without loading the article. Tags and the creation time never change, and an edit always moves {@code updatedAt}.
+ *
+ * @param updatedAt time of the last edit
+ * @param favoritesCount number of users who favorited the article
+ * @param favorited whether the requester favorited the article, always false for anonymous requesters
+ * @param authorUsername username of the author
+ * @param authorBio bio of the author
+ * @param authorImageUrl image of the author
+ */
+public record ArticleVersion(
+        LocalDateTime updatedAt,
+        int favoritesCount,
+        boolean favorited,
+        String authorUsername,
+        String authorBio,
+        String authorImageUrl) {}
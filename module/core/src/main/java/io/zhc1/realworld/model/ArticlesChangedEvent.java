@@ -0,0 +1,45 @@
+package io.zhc1.realworld.model;
+
+import java.util.UUID;
+
+/**
+ * Published once a write that may change article lists has been committed.
+ *
+ * <p>Unlike a {@link DomainEvent}, it is published synchronously on the writing thread right after the commit, before
+ * the write's response is sent, and only to this instance. It serves caches that must not outlive the write for the
+ * client that made it, such as the list version in the ETags of article lists: a client revalidating its list right
+ * after its own write must not get a 304. Domain events are delivered later and may be delayed further by retries, so
+ * they are for subscribers that may lag, and this event must not be replaced with them.
+ *
+ * @param kind what was written
+ * @param article article written, deleted or (un)favorited, or null for profile updates and follows
+ * @param userId id of the author, of the user who (un)favorited, of the updated user or of the follower
+ */
+public record ArticlesChangedEvent(Kind kind, Article article, UUID userId) {
+    public enum Kind {
+        /** An article was written, edited or deleted. */
+        ARTICLE,
+        /** An article was favorited or unfavorited. */
+        FAVORITE,
+        /** The profile of a user, which is embedded in the articles they wrote, was updated. */
+        PROFILE,
+        /** A user followed or unfollowed another user, which only changes their feed. */
+        FOLLOW
+    }
+
+    public static ArticlesChangedEvent ofArticle(Article article) {
+        return new ArticlesChangedEvent(Kind.ARTICLE, article, article.getAuthor().getId());
+    }
+
+    public static ArticlesChangedEvent ofFavorite(Article article, User user) {
+        return new ArticlesChangedEvent(Kind.FAVORITE, article, user.getId());
+    }
+
+    public static ArticlesChangedEvent ofProfile(User user) {
+        return new ArticlesChangedEvent(Kind.PROFILE, null, user.getId());
+    }
+
+    public static ArticlesChangedEvent ofFollow(User follower) {
+        return new ArticlesChangedEvent(Kind.FOLLOW, null, follower.getId());
+    }
+}
@@ -0,0 +1,70 @@
+package io.zhc1.realworld.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A write recorded in the outbox in the same transaction as the write itself, and delivered to the in-process
+ * subscribers of every instance by a background dispatcher once committed, so subscribers may keep state of their own.
+ *
+ * <p>Events of the same aggregate are delivered in the order they were recorded. A subscriber that throws makes the
+ * event be delivered again later, to every subscriber, so subscribers must tolerate receiving an event more than once.
+ * An event that keeps failing is given up on after a number of attempts, and the later events of its aggregate are
+ * delivered without it.
+ *
+ * <p>Delivery lags behind the commit, so caches that a client must see invalidated by its own writes listen to
+ * {@link ArticlesChangedEvent} instead.
+ *
+ * @param sequence position of the event in the outbox
+ * @param type what was written
+ * @param aggregateId id of the article, or of the user for profile updates and of the followed user for follows
+ * @param actorId id of the author, of the user who (un)favorited, of the updated user or of the follower
+ * @param tagNames names of the article's tags for article writes, edits and deletes, otherwise empty
+ * @param occurredAt when the write was recorded
+ */
+public record DomainEvent(
+        long sequence, Type type, String aggregateId, UUID actorId, List<String> tagNames, LocalDateTime occurredAt) {
+    public DomainEvent {
+        tagNames = List.copyOf(tagNames);
+    }
+
+    public enum Aggregate {
+        ARTICLE,
+        USER
+    }
+
+    public enum Type {
+        ARTICLE_WRITTEN(Aggregate.ARTICLE),
+        ARTICLE_EDITED(Aggregate.ARTICLE),
+        ARTICLE_DELETED(Aggregate.ARTICLE),
+        ARTICLE_FAVORITED(Aggregate.ARTICLE),
+        ARTICLE_UNFAVORITED(Aggregate.ARTICLE),
+        PROFILE_UPDATED(Aggregate.USER),
+        USER_FOLLOWED(Aggregate.USER),
+        USER_UNFOLLOWED(Aggregate.USER);
+
+        private final Aggregate aggregate;
+
+        Type(Aggregate aggregate) {
+            this.aggregate = aggregate;
+        }
+
+        public Aggregate aggregate() {
+            return aggregate;
+        }
+    }
+
+    /**
+     * Get the id of the article the event is about.
+     *
+     * @return Returns the article id
+     * @throws IllegalStateException if the event is not about an article
+     */
+    public int articleId() {
+        if (type.aggregate() != Aggregate.ARTICLE) {
+            throw new IllegalStateException("event is not about an article.");
+        }
+        return Integer.parseInt(aggregateId);
+    }
+}
@@ -0,0 +1,14 @@
+package io.zhc1.realworld.model;
+
+import java.util.List;
+
+/**
+ * Published once an article write that introduced tags never seen before has been committed.
+ *
+ * @param tagNames names of the new tags
+ */
+public record NewTagsEvent(List<String> tagNames) {
+    public NewTagsEvent {
+        tagNames = List.copyOf(tagNames);
+    }
+}
@@ -0,0 +1,11 @@
+package io.zhc1.realworld.model;
+
+/**
+ * Everything a profile response depends on, read in a single query without loading the user or the viewer.
+ *
+ * @param username username of the user
+ * @param bio bio of the user
+ * @param imageUrl image of the user
+ * @param following whether the viewer follows the user, always false for anonymous viewers
+ */
+public record ProfileVersion(String username, String bio, String imageUrl, boolean following) {}
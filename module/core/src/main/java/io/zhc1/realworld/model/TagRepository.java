@@ -4,4 +4,8 @@ import java.util.List;
 
 public interface TagRepository {
     List<Tag> findAll();
+
+    List<Tag> findPopular(int top);
+
+    List<Tag> findByPrefix(String prefix, int limit);
 }
@@ -6,9 +6,8 @@ import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 import lombok.AccessLevel;
@@ -23,7 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(length = 30, nullable = false, unique = true)
@@ -142,6 +140,18 @@ public class User {
         return id != null;
     }
 
+    /**
+     * Assign a time-ordered id right before the user is inserted. Hibernate invokes this callback before it reads the
+     * id, and Spring Data still sees new users by their null id.
+     */
+    @PrePersist
+    @SuppressWarnings("unused")
+    private void assignId() {
+        if (id == null) {
+            id = TimeOrderedUuid.generate();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         return o instanceof User other && Objects.equals(this.getId(), other.getId());
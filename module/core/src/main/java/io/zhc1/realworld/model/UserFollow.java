@@ -8,8 +8,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
@@ -22,10 +24,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(
         name = "user_follow",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"follower_id", "following_id"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"follower_id", "following_id"})},
+        indexes = @Index(name = "idx_user_follow_following_id", columnList = "following_id"))
 public class UserFollow {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_follow_seq")
+    @SequenceGenerator(name = "user_follow_seq", sequenceName = "user_follow_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
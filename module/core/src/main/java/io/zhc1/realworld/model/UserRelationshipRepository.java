@@ -1,6 +1,9 @@
 package io.zhc1.realworld.model;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 public interface UserRelationshipRepository {
     void save(UserFollow userFollow);
@@ -10,4 +13,6 @@ public interface UserRelationshipRepository {
     void deleteBy(User follower, User following);
 
     boolean existsBy(User follower, User following);
+
+    Set<UUID> findFollowingIds(User follower, Collection<User> followings);
 }
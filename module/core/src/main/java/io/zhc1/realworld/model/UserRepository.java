@@ -1,5 +1,7 @@
 package io.zhc1.realworld.model;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,6 +14,12 @@ public interface UserRepository {
 
     Optional<User> findByUsername(String username);
 
+    List<User> findByUsernames(Collection<String> usernames);
+
+    Optional<ProfileVersion> findProfileVersion(String username);
+
+    Optional<ProfileVersion> findProfileVersion(UUID viewerId, String username);
+
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
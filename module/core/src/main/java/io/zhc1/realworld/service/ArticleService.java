@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
@@ -15,7 +18,9 @@ import io.zhc1.realworld.model.ArticleDetails;
 import io.zhc1.realworld.model.ArticleFacets;
 import io.zhc1.realworld.model.ArticleFavorite;
 import io.zhc1.realworld.model.ArticleFavoriteRepository;
+import io.zhc1.realworld.model.ArticlePatch;
 import io.zhc1.realworld.model.ArticleRepository;
+import io.zhc1.realworld.model.ArticleVersion;
 import io.zhc1.realworld.model.Tag;
 import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.model.UserFollow;
@@ -24,10 +29,16 @@ import io.zhc1.realworld.model.UserRelationshipRepository;
 @Service
 @RequiredArgsConstructor
 public class ArticleService {
+    private static final int MAX_BATCH_SIZE = 50;
+
     private final UserRelationshipRepository userRelationshipRepository;
     private final ArticleRepository articleRepository;
     private final ArticleFavoriteRepository articleFavoriteRepository;
 
+    private final SingleFlight<String, Article> articlesBySlug = new SingleFlight<>("article");
+    private final SingleFlight<String, ArticleVersion> versionsBySlug = new SingleFlight<>("article-version");
+    private final SingleFlight<Integer, ArticleDetails> detailsById = new SingleFlight<>("article-details");
+
     /**
      * Get article by slug.
      *
@@ -35,9 +46,56 @@ public class ArticleService {
      * @return Returns article
      */
     public Article getArticle(String slug) {
+        return articlesBySlug.load(slug, () -> this.getArticleForEdit(slug));
+    }
+
+    /**
+     * Get article by id.
+     *
+     * @param id article id
+     * @return Returns article
+     */
+    public Article getArticle(int id) {
+        return articleRepository.findById(id).orElseThrow(() -> new NoSuchElementException("article not found."));
+    }
+
+    /**
+     * Get article by slug, loaded for this caller only, so it can be modified and passed to {@link #edit}.
+     *
+     * @param slug article slug
+     * @return Returns article
+     */
+    public Article getArticleForEdit(String slug) {
         return articleRepository.findBySlug(slug).orElseThrow(() -> new NoSuchElementException("article not found."));
     }
 
+    /**
+     * Get the version of an article as seen by an anonymous requester, without loading the article.
+     *
+     * @param slug article slug
+     * @return Returns the version of the article
+     */
+    public ArticleVersion getArticleVersion(String slug) {
+        return versionsBySlug.load(
+                slug,
+                () -> articleRepository
+                        .findVersion(slug)
+                        .orElseThrow(() -> new NoSuchElementException("article not found.")));
+    }
+
+    /**
+     * Get the version of an article as seen by a requester, without loading the article or the requester.
+     *
+     * @param requesterId id of the user requesting the article
+     * @param slug article slug
+     * @return Returns the version of the article
+     */
+    public ArticleVersion getArticleVersion(UUID requesterId, String slug) {
+        return articleRepository
+                .findVersion(requesterId, slug)
+                .orElseThrow(() -> new NoSuchElementException("article not found."));
+    }
+
     /**
      * Get articles by facets.
      *
@@ -58,8 +116,48 @@ public class ArticleService {
      * @return Returns articles with information
      */
     public List<ArticleDetails> getArticles(User requester, ArticleFacets facets) {
-        return articleRepository.findAll(facets).stream()
-                .map(article -> articleRepository.findArticleDetails(requester, article))
+        return this.personalize(requester, this.getArticles(facets));
+    }
+
+    /**
+     * Get the articles with the given slugs, with one query for the articles and one for their favorites counts.
+     *
+     * @param slugs article slugs, at most 50
+     * @return Returns the articles found, in the order of the slugs
+     */
+    public List<ArticleDetails> getArticlesBySlugs(List<String> slugs) {
+        if (slugs.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("at most " + MAX_BATCH_SIZE + " slugs can be requested at once.");
+        }
+
+        var distinctSlugs = slugs.stream().distinct().toList();
+        var articlesBySlug = articleRepository.findBySlugs(distinctSlugs).stream()
+                .collect(Collectors.toMap(Article::getSlug, Function.identity()));
+        var articles = distinctSlugs.stream()
+                .map(articlesBySlug::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return articleRepository.findArticleDetails(articles);
+    }
+
+    /**
+     * Mark the articles the reader has favorited, with a single lookup for the whole list.
+     *
+     * <p>Only {@code favorited} depends on the reader, so the articles can come from a list shared by all readers.
+     *
+     * @param reader user who requested
+     * @param articles articles as seen by anonymous readers
+     * @return Returns the articles as seen by the reader
+     */
+    public List<ArticleDetails> personalize(User reader, List<ArticleDetails> articles) {
+        var favoritedArticleIds = articleFavoriteRepository.findFavoritedArticleIds(
+                reader, articles.stream().map(ArticleDetails::article).toList());
+
+        return articles.stream()
+                .map(articleDetails -> new ArticleDetails(
+                        articleDetails.article(),
+                        articleDetails.favoritesCount(),
+                        favoritedArticleIds.contains(articleDetails.article().getId())))
                 .toList();
     }
 
@@ -75,9 +173,8 @@ public class ArticleService {
                 .map(UserFollow::getFollowing)
                 .toList();
 
-        return articleRepository.findByAuthors(following, facets).stream()
-                .map(article -> articleRepository.findArticleDetails(user, article))
-                .toList();
+        var articles = articleRepository.findArticleDetails(articleRepository.findByAuthors(following, facets));
+        return this.personalize(user, articles);
     }
 
     /**
@@ -96,26 +193,54 @@ public class ArticleService {
     }
 
     /**
-     * Edit article title.
+     * Edit an article, applying all changes of the patch in a single update.
      *
      * @param requester user who requested
      * @param article article
-     * @param title new title
+     * @param patch changes to apply
      * @return Returns the edited article
+     * @throws io.zhc1.realworld.model.ArticleEditConflictException if the article was edited since it was read
      */
-    public Article editTitle(User requester, Article article, String title) {
+    public Article edit(User requester, Article article, ArticlePatch patch) {
         if (article.isNotAuthor(requester)) {
             throw new IllegalArgumentException("you can't edit articles written by others.");
         }
 
-        if (articleRepository.existsBy(title)) {
+        if (patch.isEmpty()) {
+            return article;
+        }
+
+        if (patch.title() != null
+                && !patch.title().equals(article.getTitle())
+                && articleRepository.existsBy(patch.title())) {
             throw new IllegalArgumentException("title is already exists.");
         }
 
-        article.setTitle(title);
+        if (patch.title() != null) {
+            article.setTitle(patch.title());
+        }
+        if (patch.description() != null) {
+            article.setDescription(patch.description());
+        }
+        if (patch.content() != null) {
+            article.setContent(patch.content());
+        }
+
         return articleRepository.save(article);
     }
 
+    /**
+     * Edit article title.
+     *
+     * @param requester user who requested
+     * @param article article
+     * @param title new title
+     * @return Returns the edited article
+     */
+    public Article editTitle(User requester, Article article, String title) {
+        return this.edit(requester, article, new ArticlePatch(title, null, null));
+    }
+
     /**
      * Edit article description.
      *
@@ -125,12 +250,7 @@ public class ArticleService {
      * @return Returns the edited article
      */
     public Article editDescription(User requester, Article article, String description) {
-        if (article.isNotAuthor(requester)) {
-            throw new IllegalArgumentException("you can't edit articles written by others.");
-        }
-
-        article.setDescription(description);
-        return articleRepository.save(article);
+        return this.edit(requester, article, new ArticlePatch(null, description, null));
     }
 
     /**
@@ -142,12 +262,7 @@ public class ArticleService {
      * @return Returns the edited article
      */
     public Article editContent(User requester, Article article, String content) {
-        if (article.isNotAuthor(requester)) {
-            throw new IllegalArgumentException("you can't edit articles written by others.");
-        }
-
-        article.setContent(content);
-        return articleRepository.save(article);
+        return this.edit(requester, article, new ArticlePatch(null, null, content));
     }
 
     /**
@@ -210,7 +325,20 @@ public class ArticleService {
      * @return Returns article details
      */
     public ArticleDetails getArticleDetails(Article article) {
-        return articleRepository.findArticleDetails(article);
+        var details = detailsById.load(article.getId(), () -> articleRepository.findArticleDetails(article));
+        // Note: a joined load may have fetched a different instance of the article, so reply with the caller's own.
+        return details.article() == article
+                ? details
+                : ArticleDetails.unauthenticated(article, details.favoritesCount());
+    }
+
+    /**
+     * Get the loads coalesced by this service, to report how many queries they saved.
+     *
+     * @return Returns the coalesced loads
+     */
+    public List<SingleFlight<?, ?>> singleFlights() {
+        return List.of(articlesBySlug, versionsBySlug, detailsById);
     }
 
     /**
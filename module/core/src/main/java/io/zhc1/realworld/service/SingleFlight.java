@@ -0,0 +1,95 @@
+package io.zhc1.realworld.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.zhc1.realworld.context.RequestContext;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load, and callers arriving while it is in
+ * flight wait for its result instead of running the same queries again. Nothing is kept once the load completes, so
+ * this never serves a result older than the load it joined.
+ *
+ * <p>Only anonymous callers are coalesced. An authenticated caller may have just written what it is reading, and
+ * joining a load that started before its write would hide the write from it. The result is shared by every caller that
+ * joined, so it must not be modified.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the loaded value
+ */
+public final class SingleFlight<K, V> {
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Load the value of a key, or wait for the load of the same key already in flight.
+     *
+     * @param key key to load, where a null key is never coalesced
+     * @param loader loads the value, throwing the same exception to every caller that joined
+     * @return Returns the loaded value
+     */
+    public V load(K key, Supplier<V> loader) {
+        if (key == null || RequestContext.current().flatMap(RequestContext::requesterId).isPresent()) {
+            return loader.get();
+        }
+
+        var flight = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            joins.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Returns the number of loads that ran. */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /** Returns the number of callers that waited for a load in flight instead of running their own. */
+    public long joins() {
+        return joins.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw new IllegalStateException(e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted while waiting for a load in flight.");
+        }
+    }
+}
@@ -12,6 +12,9 @@ import io.zhc1.realworld.model.TagRepository;
 @Service
 @RequiredArgsConstructor
 public class TagService {
+    private static final int MAX_POPULAR_TAGS = 100;
+    private static final int MAX_SUGGESTED_TAGS = 20;
+
     private final TagRepository tagRepository;
 
     /**
@@ -23,4 +26,36 @@ public class TagService {
         // Note: If there are too many tags, recommend apply cursor based pagination.
         return tagRepository.findAll();
     }
+
+    /**
+     * Get the most used tags, ordered by the number of articles using them.
+     *
+     * @param top number of tags to return
+     * @return Returns the most popular tags
+     */
+    public List<Tag> getPopularTags(int top) {
+        if (top < 1 || top > MAX_POPULAR_TAGS) {
+            throw new IllegalArgumentException("top must be between 1 and %d.".formatted(MAX_POPULAR_TAGS));
+        }
+
+        return tagRepository.findPopular(top);
+    }
+
+    /**
+     * Get tags starting with the prefix, ordered by the number of articles using them.
+     *
+     * @param prefix prefix of tag names
+     * @param limit maximum number of tags to return
+     * @return Returns the suggested tags
+     */
+    public List<Tag> suggestTags(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("prefix is null or blank.");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTED_TAGS) {
+            throw new IllegalArgumentException("limit must be between 1 and %d.".formatted(MAX_SUGGESTED_TAGS));
+        }
+
+        return tagRepository.findByPrefix(prefix, limit);
+    }
 }
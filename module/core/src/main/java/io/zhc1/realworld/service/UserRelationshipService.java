@@ -1,5 +1,10 @@
 package io.zhc1.realworld.service;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +27,26 @@ public class UserRelationshipService {
         return userRelationshipRepository.existsBy(follower, following);
     }
 
+    /**
+     * Get the ids of the users the follower is following among the given users, with a single lookup.
+     *
+     * @return Returns ids of the followed users
+     */
+    public Set<UUID> getFollowingIds(User follower, Collection<User> users) {
+        return userRelationshipRepository.findFollowingIds(follower, users);
+    }
+
+    /**
+     * Get the ids of all users the follower is following.
+     *
+     * @return Returns ids of the followed users
+     */
+    public Set<UUID> getFollowingIds(User follower) {
+        return userRelationshipRepository.findByFollower(follower).stream()
+                .map(userFollow -> userFollow.getFollowing().getId())
+                .collect(Collectors.toSet());
+    }
+
     /** Follow user. */
     public void follow(User follower, User following) {
         if (this.isFollowing(follower, following)) {
@@ -1,13 +1,18 @@
 package io.zhc1.realworld.service;
 
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
 
 import io.zhc1.realworld.model.PasswordEncoder;
+import io.zhc1.realworld.model.ProfileVersion;
 import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.model.UserRegistry;
 import io.zhc1.realworld.model.UserRepository;
@@ -15,9 +20,15 @@ import io.zhc1.realworld.model.UserRepository;
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_BATCH_SIZE = 50;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    private final SingleFlight<String, User> usersByUsername = new SingleFlight<>("user");
+    private final SingleFlight<String, ProfileVersion> profileVersionsByUsername =
+            new SingleFlight<>("profile-version");
+
     /**
      * Get user by id.
      *
@@ -33,7 +44,64 @@ public class UserService {
      * @return Returns user
      */
     public User getUser(String username) {
-        return userRepository.findByUsername(username).orElseThrow(() -> new NoSuchElementException("user not found."));
+        return usersByUsername.load(
+                username,
+                () -> userRepository
+                        .findByUsername(username)
+                        .orElseThrow(() -> new NoSuchElementException("user not found.")));
+    }
+
+    /**
+     * Get the users with the given usernames with a single query.
+     *
+     * @param usernames usernames, at most 50
+     * @return Returns the users found, in the order of the usernames
+     */
+    public List<User> getUsers(List<String> usernames) {
+        if (usernames.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("at most " + MAX_BATCH_SIZE + " usernames can be requested at once.");
+        }
+
+        var distinctUsernames = usernames.stream().distinct().toList();
+        var usersByUsername = userRepository.findByUsernames(distinctUsernames).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity()));
+        return distinctUsernames.stream()
+                .map(usersByUsername::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Get the version of a profile as seen by an anonymous viewer, without loading the user.
+     *
+     * @return Returns the version of the profile
+     */
+    public ProfileVersion getProfileVersion(String username) {
+        return profileVersionsByUsername.load(
+                username,
+                () -> userRepository
+                        .findProfileVersion(username)
+                        .orElseThrow(() -> new NoSuchElementException("user not found.")));
+    }
+
+    /**
+     * Get the version of a profile as seen by a viewer, without loading the user or the viewer.
+     *
+     * @return Returns the version of the profile
+     */
+    public ProfileVersion getProfileVersion(UUID viewerId, String username) {
+        return userRepository
+                .findProfileVersion(viewerId, username)
+                .orElseThrow(() -> new NoSuchElementException("user not found."));
+    }
+
+    /**
+     * Get the loads coalesced by this service, to report how many queries they saved.
+     *
+     * @return Returns the coalesced loads
+     */
+    public List<SingleFlight<?, ?>> singleFlights() {
+        return List.of(usersByUsername, profileVersionsByUsername);
     }
 
     /**
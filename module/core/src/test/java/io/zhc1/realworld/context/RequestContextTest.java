@@ -0,0 +1,54 @@
+package io.zhc1.realworld.context;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Request Context - Binding Request Information to Threads")
+class RequestContextTest {
+    @AfterEach
+    void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    @DisplayName("Threads started during a request should not carry its context")
+    void whenThreadStartedDuringRequest_thenShouldNotInheritContext() throws InterruptedException {
+        // given
+        RequestContext.begin(UUID.randomUUID());
+        var seen = new AtomicReference<Optional<RequestContext>>();
+
+        // when
+        var thread = Thread.ofPlatform().start(() -> seen.set(RequestContext.current()));
+        thread.join();
+
+        // then
+        assertTrue(seen.get().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Work forked for a request should see the context it was bound to")
+    void whenContextBound_thenShouldBeCurrent() throws InterruptedException {
+        // given
+        var context = RequestContext.begin(UUID.randomUUID());
+        var seen = new AtomicReference<Optional<RequestContext>>();
+
+        // when
+        var thread = Thread.ofVirtual().start(() -> {
+            RequestContext.bind(context);
+            seen.set(RequestContext.current());
+            RequestContext.end();
+        });
+        thread.join();
+
+        // then
+        assertSame(context, seen.get().orElseThrow());
+    }
+}
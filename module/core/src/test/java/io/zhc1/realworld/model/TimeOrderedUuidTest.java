@@ -0,0 +1,49 @@
+package io.zhc1.realworld.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Time Ordered UUID - Version 7 Generation")
+class TimeOrderedUuidTest {
+    @Test
+    @DisplayName("Generated UUID should be a version 7 UUID with the IETF variant")
+    void whenGenerated_thenShouldBeVersion7() {
+        // when
+        var uuid = TimeOrderedUuid.generate();
+
+        // then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("Generated UUID should start with the timestamp in milliseconds")
+    void whenGenerated_thenShouldStartWithTimestamp() {
+        // given
+        long epochMillis = 1_700_000_000_000L;
+
+        // when
+        var uuid = TimeOrderedUuid.generate(epochMillis);
+
+        // then
+        assertEquals(epochMillis, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("UUIDs generated later should sort after earlier ones")
+    void whenGeneratedLater_thenShouldSortAfter() {
+        // given
+        var earlier = TimeOrderedUuid.generate(1_700_000_000_000L);
+
+        // when
+        var later = TimeOrderedUuid.generate(1_700_000_000_001L);
+
+        // then
+        assertTrue(Long.compareUnsigned(earlier.getMostSignificantBits(), later.getMostSignificantBits()) < 0);
+        assertNotEquals(earlier, later);
+    }
+}
@@ -19,6 +19,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +34,7 @@ import io.zhc1.realworld.model.ArticleDetails;
 import io.zhc1.realworld.model.ArticleFacets;
 import io.zhc1.realworld.model.ArticleFavorite;
 import io.zhc1.realworld.model.ArticleFavoriteRepository;
+import io.zhc1.realworld.model.ArticlePatch;
 import io.zhc1.realworld.model.ArticleRepository;
 import io.zhc1.realworld.model.Tag;
 import io.zhc1.realworld.model.TestArticle;
@@ -96,6 +98,16 @@ class ArticleServiceTest {
         verify(articleRepository).findBySlug(slug);
     }
 
+    @Test
+    @DisplayName("Get article by id should throw exception when article does not exist")
+    void whenGetArticleWithNonExistingId_thenShouldThrowException() {
+        // given
+        when(articleRepository.findById(1)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(NoSuchElementException.class, () -> sut.getArticle(1));
+    }
+
     @Test
     @DisplayName("Get articles with facets should return expected article details")
     void whenGetArticlesWithFacets_thenShouldReturnExpectedArticleDetails() {
@@ -120,11 +132,13 @@ class ArticleServiceTest {
         // given
         User requester = new User("requesterEmail", "requesterUsername", "requesterPassword");
         ArticleFacets facets = new ArticleFacets(1, 5);
-        Article article = new Article(testUser1, "title", "desc", "content");
-        ArticleDetails expectedDetails = ArticleDetails.unauthenticated(article, 0);
+        Article article = new TestArticle(1, testUser1, "title", "desc", "content");
+        ArticleDetails expectedDetails = new ArticleDetails(article, 1, true);
         List<ArticleDetails> expectedDetailsList = List.of(expectedDetails);
         when(articleRepository.findAll(facets)).thenReturn(List.of(article));
-        when(articleRepository.findArticleDetails(requester, article)).thenReturn(expectedDetails);
+        when(articleRepository.findArticleDetails(article)).thenReturn(ArticleDetails.unauthenticated(article, 1));
+        when(articleFavoriteRepository.findFavoritedArticleIds(requester, List.of(article)))
+                .thenReturn(Set.of(1));
 
         // when
         List<ArticleDetails> actualArticleDetailsList = sut.getArticles(requester, facets);
@@ -133,6 +147,57 @@ class ArticleServiceTest {
         assertEquals(expectedDetailsList, actualArticleDetailsList);
     }
 
+    @Test
+    @DisplayName("Personalize should mark favorited articles with a single lookup")
+    void whenPersonalize_thenShouldMarkFavoritedArticlesWithSingleLookup() {
+        // given
+        Article favoritedArticle = new TestArticle(1, testUser1, "title1", "desc1", "content1");
+        Article otherArticle = new TestArticle(2, testUser1, "title2", "desc2", "content2");
+        List<ArticleDetails> articles = List.of(
+                ArticleDetails.unauthenticated(favoritedArticle, 3), ArticleDetails.unauthenticated(otherArticle, 0));
+        when(articleFavoriteRepository.findFavoritedArticleIds(testUser2, List.of(favoritedArticle, otherArticle)))
+                .thenReturn(Set.of(1));
+
+        // when
+        List<ArticleDetails> actualArticleDetailsList = sut.personalize(testUser2, articles);
+
+        // then
+        assertEquals(
+                List.of(new ArticleDetails(favoritedArticle, 3, true), new ArticleDetails(otherArticle, 0, false)),
+                actualArticleDetailsList);
+        verify(articleFavoriteRepository, never()).existsBy(any(User.class), any(Article.class));
+    }
+
+    @Test
+    @DisplayName("Get articles by slugs should return the found articles in the order of the slugs")
+    void whenGetArticlesBySlugs_thenShouldReturnFoundArticlesInOrder() {
+        // given
+        Article first = new TestArticle(1, testUser1, "first", "desc1", "content1");
+        Article second = new TestArticle(2, testUser1, "second", "desc2", "content2");
+        List<String> slugs = List.of("second", "missing", "first", "second");
+        List<ArticleDetails> expected =
+                List.of(ArticleDetails.unauthenticated(second, 2), ArticleDetails.unauthenticated(first, 0));
+        when(articleRepository.findBySlugs(List.of("second", "missing", "first"))).thenReturn(List.of(first, second));
+        when(articleRepository.findArticleDetails(List.of(second, first))).thenReturn(expected);
+
+        // when
+        List<ArticleDetails> actualArticleDetailsList = sut.getArticlesBySlugs(slugs);
+
+        // then
+        assertEquals(expected, actualArticleDetailsList);
+        verify(articleRepository, never()).findBySlug(any(String.class));
+    }
+
+    @Test
+    @DisplayName("Get articles by slugs should throw exception when too many slugs are requested")
+    void whenGetArticlesByTooManySlugs_thenShouldThrowException() {
+        // given
+        List<String> slugs = IntStream.range(0, 51).mapToObj(i -> "slug-" + i).toList();
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> sut.getArticlesBySlugs(slugs));
+    }
+
     @Test
     @DisplayName("Get articles should return articles when all parameters are valid")
     void whenGetArticlesWithValidParameters_thenShouldReturnArticles() {
@@ -178,7 +243,7 @@ class ArticleServiceTest {
         when(userRelationshipRepository.findByFollower(testUser2))
                 .thenReturn(List.of(new UserFollow(testUser2, testUser1)));
         when(articleRepository.findByAuthors(List.of(testUser1), facets)).thenReturn(List.of(article));
-        when(articleRepository.findArticleDetails(testUser2, article)).thenReturn(expectedDetails);
+        when(articleRepository.findArticleDetails(List.of(article))).thenReturn(expectedDetailsList);
 
         // when
         List<ArticleDetails> actualArticleDetailsList = sut.getFeeds(testUser2, facets);
@@ -479,6 +544,41 @@ class ArticleServiceTest {
         verify(articleRepository, never()).save(article);
     }
 
+    @Test
+    @DisplayName("Edit should apply every change of the patch with a single save")
+    void whenEditWithPatch_thenShouldApplyAllChangesWithSingleSave() {
+        // given
+        Article article = new Article(testUser1, "title", "description", "content");
+        ArticlePatch patch = new ArticlePatch("new_title", "new_description", "new_content");
+        when(articleRepository.existsBy("new_title")).thenReturn(false);
+        when(articleRepository.save(article)).thenReturn(article);
+
+        // when
+        Article updatedArticle = sut.edit(testUser1, article, patch);
+
+        // then
+        assertEquals("new_title", updatedArticle.getTitle());
+        assertEquals("new-title", updatedArticle.getSlug());
+        assertEquals("new_description", updatedArticle.getDescription());
+        assertEquals("new_content", updatedArticle.getContent());
+        verify(articleRepository).save(article);
+    }
+
+    @Test
+    @DisplayName("Edit should not check the title when it is unchanged")
+    void whenEditWithUnchangedTitle_thenShouldNotCheckTitle() {
+        // given
+        Article article = new Article(testUser1, "title", "description", "content");
+        when(articleRepository.save(article)).thenReturn(article);
+
+        // when
+        sut.edit(testUser1, article, new ArticlePatch("title", "new_description", null));
+
+        // then
+        verify(articleRepository, never()).existsBy("title");
+        verify(articleRepository).save(article);
+    }
+
     @Test
     @DisplayName("Edit title should throw exception when title already exists")
     void whenEditTitleWithExistingTitle_thenShouldThrowException() {
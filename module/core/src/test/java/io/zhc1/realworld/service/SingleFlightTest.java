@@ -0,0 +1,170 @@
+package io.zhc1.realworld.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.zhc1.realworld.context.RequestContext;
+
+@DisplayName("Single Flight - Coalescing Concurrent Loads of the Same Key")
+class SingleFlightTest {
+    SingleFlight<String, Object> sut = new SingleFlight<>("test");
+
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        RequestContext.end();
+    }
+
+    @Test
+    @DisplayName("Concurrent loads of the same key should share a single load")
+    void whenSameKeyLoadedConcurrently_thenShouldShareSingleLoad() throws Exception {
+        // given
+        var value = new Object();
+        var loaderCalls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> sut.load("key", () -> {
+            loaderCalls.incrementAndGet();
+            await(release);
+            return value;
+        }));
+        awaitLoads(1);
+
+        // when
+        var joiners = List.of(
+                executor.submit(() -> sut.load("key", Object::new)),
+                executor.submit(() -> sut.load("key", Object::new)));
+        awaitJoins(2);
+        release.countDown();
+
+        // then
+        assertSame(value, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Object> joiner : joiners) {
+            assertSame(value, joiner.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, sut.loads());
+        assertEquals(2, sut.joins());
+    }
+
+    @Test
+    @DisplayName("A failed load should throw its exception to every caller that joined it")
+    void whenLoadFails_thenJoinedCallersShouldGetSameException() throws Exception {
+        // given
+        var failure = new IllegalStateException("load failed.");
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> sut.load("key", () -> {
+            await(release);
+            throw failure;
+        }));
+        awaitLoads(1);
+
+        // when
+        var joiner = executor.submit(() -> sut.load("key", Object::new));
+        awaitJoins(1);
+        release.countDown();
+
+        // then
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> joiner.get(5, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    @DisplayName("A key should be loaded again once the previous load completed")
+    void whenPreviousLoadCompleted_thenShouldLoadAgain() {
+        // given
+        sut.load("key", Object::new);
+
+        // when
+        sut.load("key", Object::new);
+
+        // then
+        assertEquals(2, sut.loads());
+        assertEquals(0, sut.joins());
+    }
+
+    @Test
+    @DisplayName("Authenticated callers should run their own load to read their own writes")
+    void whenCallerAuthenticated_thenShouldNotJoinLoadInFlight() throws Exception {
+        // given
+        var release = new CountDownLatch(1);
+        var leader = executor.submit(() -> sut.load("key", () -> {
+            await(release);
+            return "anonymous";
+        }));
+        awaitLoads(1);
+
+        // when
+        var authenticated = executor.submit(() -> {
+            RequestContext.begin(UUID.randomUUID());
+            return sut.load("key", () -> "authenticated");
+        });
+
+        // then
+        assertEquals("authenticated", authenticated.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("anonymous", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(0, sut.joins());
+    }
+
+    @Test
+    @DisplayName("A null key should never be coalesced")
+    void whenKeyIsNull_thenShouldLoadWithoutCoalescing() {
+        // when
+        var value = sut.load(null, () -> "value");
+
+        // then
+        assertEquals("value", value);
+        assertEquals(0, sut.loads());
+    }
+
+    private void awaitLoads(long loads) throws InterruptedException {
+        awaitUntil(() -> sut.loads() >= loads);
+    }
+
+    private void awaitJoins(long joins) throws InterruptedException {
+        awaitUntil(() -> sut.joins() >= joins);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time.");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
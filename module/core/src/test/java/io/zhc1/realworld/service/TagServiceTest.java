@@ -2,6 +2,7 @@ package io.zhc1.realworld.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -11,6 +12,9 @@ import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -45,4 +49,54 @@ class TagServiceTest {
         assertEquals(2, returnedTags.size());
         assertTrue(returnedTags.contains(tag1) && returnedTags.contains(tag2));
     }
+
+    @Test
+    @DisplayName("Get popular tags should return tags provided by repository")
+    void whenGetPopularTags_thenShouldReturnTagsFromRepository() {
+        // given
+        List<Tag> tags = List.of(new Tag("java"), new Tag("spring"));
+        when(tagRepository.findPopular(2)).thenReturn(tags);
+
+        // when
+        List<Tag> returnedTags = sut.getPopularTags(2);
+
+        // then
+        assertEquals(tags, returnedTags);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 101})
+    @DisplayName("Get popular tags should throw exception when top is out of range")
+    void whenGetPopularTagsWithInvalidTop_thenShouldThrowException(int top) {
+        assertThrows(IllegalArgumentException.class, () -> sut.getPopularTags(top));
+    }
+
+    @Test
+    @DisplayName("Suggest tags should return tags provided by repository")
+    void whenSuggestTags_thenShouldReturnTagsFromRepository() {
+        // given
+        List<Tag> tags = List.of(new Tag("spring"), new Tag("spring-boot"));
+        when(tagRepository.findByPrefix("spr", 10)).thenReturn(tags);
+
+        // when
+        List<Tag> returnedTags = sut.suggestTags("spr", 10);
+
+        // then
+        assertEquals(tags, returnedTags);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" "})
+    @DisplayName("Suggest tags should throw exception when prefix is null or blank")
+    void whenSuggestTagsWithBlankPrefix_thenShouldThrowException(String prefix) {
+        assertThrows(IllegalArgumentException.class, () -> sut.suggestTags(prefix, 10));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 21})
+    @DisplayName("Suggest tags should throw exception when limit is out of range")
+    void whenSuggestTagsWithInvalidLimit_thenShouldThrowException(int limit) {
+        assertThrows(IllegalArgumentException.class, () -> sut.suggestTags("spr", limit));
+    }
 }
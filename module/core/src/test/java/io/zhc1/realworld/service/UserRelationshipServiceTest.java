@@ -1,5 +1,6 @@
 package io.zhc1.realworld.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
@@ -8,6 +9,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +58,21 @@ class UserRelationshipServiceTest {
         assertFalse(sut.isFollowing(follower, following));
     }
 
+    @Test
+    @DisplayName("Get following ids should return the ids of every followed user")
+    void whenGetFollowingIds_thenShouldReturnIdsOfFollowedUsers() {
+        // given
+        User another = new TestUser(UUID.randomUUID(), "another@example.com", "Another", "passanother");
+        when(userRelationshipRepository.findByFollower(follower))
+                .thenReturn(List.of(new UserFollow(follower, following), new UserFollow(follower, another)));
+
+        // when
+        Set<UUID> followingIds = sut.getFollowingIds(follower);
+
+        // then
+        assertEquals(Set.of(following.getId(), another.getId()), followingIds);
+    }
+
     @Test
     @DisplayName("Follow user should save relationship when not already following")
     void whenFollowUserNotAlreadyFollowing_thenShouldSaveRelationship() {
@@ -5,9 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -76,6 +78,32 @@ class UserServiceTest {
         assertEquals(testUser, result);
     }
 
+    @Test
+    @DisplayName("Get users by usernames should return the found users in the order of the usernames")
+    void whenGetUsersByUsernames_thenShouldReturnFoundUsersInOrder() {
+        // given
+        User first = new User("first@example.com", "first", "password");
+        User second = new User("second@example.com", "second", "password");
+        when(userRepository.findByUsernames(List.of("second", "missing", "first")))
+                .thenReturn(List.of(first, second));
+
+        // when
+        List<User> result = sut.getUsers(List.of("second", "missing", "first", "second"));
+
+        // then
+        assertEquals(List.of(second, first), result);
+    }
+
+    @Test
+    @DisplayName("Get users by usernames should throw exception when too many usernames are requested")
+    void whenGetUsersByTooManyUsernames_thenShouldThrowException() {
+        // given
+        List<String> usernames = IntStream.range(0, 51).mapToObj(i -> "user-" + i).toList();
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> sut.getUsers(usernames));
+    }
+
     @Test
     @DisplayName("Get user by username should throw exception when user does not exist")
     void whenGetUserByUsernameWithInvalidUsername_thenShouldThrowException() {
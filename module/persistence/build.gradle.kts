@@ -8,4 +8,5 @@ dependencies {
     implementation(libs.spring.boot.starter.p6spy)
 
     implementation(libs.cache.caffeine)
+    implementation(libs.micrometer.core)
 }
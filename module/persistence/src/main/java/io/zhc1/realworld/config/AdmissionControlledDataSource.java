@@ -0,0 +1,152 @@
+package io.zhc1.realworld.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Admits at most as many callers as the pool has connections, and lets a bounded number of callers wait for them.
+ *
+ * <p>With virtual threads, the number of concurrent requests is not limited by a thread pool anymore. Without this,
+ * every request would block in the connection pool until it times out. Here, a caller that would exceed the wait queue,
+ * or that waited longer than the maximum wait, fails immediately with a {@link SQLTransientConnectionException}. The
+ * permit is returned when the connection is closed.
+ */
+class AdmissionControlledDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final int maxQueueDepth;
+    private final long maxWaitNanos;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    AdmissionControlledDataSource(
+            String name,
+            DataSource targetDataSource,
+            int maxConnections,
+            int maxQueueDepth,
+            Duration maxWait,
+            MeterRegistry registry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        this.waitTimer = Timer.builder("realworld.datasource.admission.wait")
+                .description("Time spent waiting for a database connection permit")
+                .tag("name", name)
+                .register(registry);
+        this.rejections = Counter.builder("realworld.datasource.admission.rejected")
+                .description("Number of callers rejected without a database connection")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("realworld.datasource.admission.queue", queueDepth, AtomicInteger::get)
+                .description("Number of callers waiting for a database connection permit")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("realworld.datasource.admission.active", permits, it -> maxConnections - it.availablePermits())
+                .description("Number of callers holding a database connection permit")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    int queueDepth() {
+        return queueDepth.get();
+    }
+
+    private void acquire() throws SQLException {
+        // Note: The timed tryAcquire honors fairness, while the untimed one would barge ahead of waiting callers.
+        try {
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return;
+            }
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+
+        if (queueDepth.incrementAndGet() > maxQueueDepth) {
+            queueDepth.decrementAndGet();
+            rejections.increment();
+            throw new SQLTransientConnectionException("Too many callers are waiting for a database connection.");
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejections.increment();
+                throw new SQLTransientConnectionException("Timed out waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        } finally {
+            queueDepth.decrementAndGet();
+            waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private SQLException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new SQLTransientConnectionException("Interrupted while waiting for a database connection.", e);
+    }
+
+    private Connection releaseOnClose(Connection connection) {
+        var released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
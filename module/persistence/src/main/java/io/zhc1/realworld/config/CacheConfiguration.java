@@ -16,10 +16,15 @@ public class CacheConfiguration {
 
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheName.ALL_TAGS);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(
                 Caffeine.newBuilder().expireAfterWrite(1, TimeUnit.MINUTES).maximumSize(500));
 
+        // Note: Evicted when an article of this instance introduces new tags. Tags introduced on other instances are
+        // only picked up once it expires.
+        cacheManager.registerCustomCache(
+                CacheName.ALL_TAGS, Caffeine.newBuilder().expireAfterWrite(1, TimeUnit.MINUTES).maximumSize(1).build());
+
         return cacheManager;
     }
 }
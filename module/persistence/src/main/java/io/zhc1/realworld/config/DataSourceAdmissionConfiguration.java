@@ -0,0 +1,54 @@
+package io.zhc1.realworld.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+@Configuration
+@ConditionalOnProperty(name = "realworld.datasource.admission.enabled", havingValue = "true", matchIfMissing = true)
+class DataSourceAdmissionConfiguration {
+    @Bean
+    DataSourceDecorator admissionControlDataSourceDecorator(
+            @Value("${realworld.datasource.admission.max-connections:10}") int maxConnections,
+            @Value("${realworld.datasource.admission.max-queue-depth:200}") int maxQueueDepth,
+            @Value("${realworld.datasource.admission.max-wait:1s}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return (beanName, dataSource) -> new AdmissionControlledDataSource(
+                beanName,
+                dataSource,
+                poolSizeOf(dataSource, maxConnections),
+                maxQueueDepth,
+                maxWait,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Get the size of the connection pool behind the data source.
+     *
+     * @param dataSource data source, possibly already decorated
+     * @param defaultSize size to use when the pool is not known
+     * @return Returns the maximum number of connections of the pool
+     */
+    private static int poolSizeOf(DataSource dataSource, int defaultSize) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // Note: Falls back to the configured size, as the pool size is only a hint.
+        }
+        return defaultSize;
+    }
+}
@@ -73,6 +73,7 @@ class DataSourceConfiguration {
                     .map(StackTraceElement::toString)
                     .filter(trace -> trace.startsWith("io.zhc1.realworld"))
                     .filter(trace -> !trace.contains(getClass().getSimpleName()))
+                    .filter(trace -> !trace.contains(SqlTelemetryListener.class.getSimpleName()))
                     .filter(trace -> !trace.contains("CGLIB"))
                     .filter(trace -> !trace.contains("$Proxy"))
                     .forEach(callstack::push);
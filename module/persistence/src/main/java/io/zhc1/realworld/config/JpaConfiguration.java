@@ -1,8 +1,14 @@
 package io.zhc1.realworld.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+/**
+ * Note: The {@code application.yaml} of this module is shadowed by the one of the application on the classpath, so
+ * the defaults that must reach the application are declared in {@code persistence.properties}.
+ */
 @Configuration
 @EnableJpaAuditing
+@PropertySource("classpath:persistence.properties")
 class JpaConfiguration {}
@@ -0,0 +1,60 @@
+package io.zhc1.realworld.config;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Enabled when a replica is configured with {@code realworld.datasource.replica.jdbc-url}.
+ *
+ * <p>The primary pool is configured with the usual {@code spring.datasource} properties, and the replica pool with the
+ * Hikari properties under {@code realworld.datasource.replica}. Both pools are decorated individually, so the routing
+ * data source itself is excluded from decoration in {@code application.yaml}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "realworld.datasource.replica.jdbc-url")
+class ReadWriteRoutingConfiguration {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("realworld.datasource.replica")
+    HikariDataSource replicaDataSource() {
+        var replica = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    DataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${realworld.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+            @Value("${realworld.datasource.replica.initialize-schema:false}") boolean initializeReplicaSchema) {
+        if (initializeReplicaSchema) {
+            // Note: Only for local replicas that are not fed by replication, such as a second in-memory H2 database.
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replicaDataSource);
+        }
+
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesWindow));
+    }
+}
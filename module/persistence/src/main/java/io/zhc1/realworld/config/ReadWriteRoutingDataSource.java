@@ -0,0 +1,72 @@
+package io.zhc1.realworld.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.zhc1.realworld.context.RequestContext;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * <p>A replica lags behind the primary, so a user who just changed something could read the old state back. After a
+ * read-write transaction of a requester commits, read-only transactions of the same requester keep going to the
+ * primary for the read-your-writes window.
+ *
+ * <p>The route is decided when a statement first needs a connection, so this must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. Otherwise the connection would be taken
+ * before the transaction is marked read-only.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final Cache<UUID, Boolean> recentWriters;
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var requesterId = RequestContext.current().flatMap(RequestContext::requesterId);
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            requesterId.ifPresent(this::rememberWriterOnCommit);
+            return Route.PRIMARY;
+        }
+
+        if (requesterId.isPresent() && recentWriters.getIfPresent(requesterId.get()) != null) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private void rememberWriterOnCommit(UUID requesterId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(requesterId, Boolean.TRUE);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(requesterId, Boolean.TRUE);
+            }
+        });
+    }
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+}
@@ -0,0 +1,30 @@
+package io.zhc1.realworld.config;
+
+import java.sql.SQLException;
+
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import io.zhc1.realworld.context.RequestContext;
+
+/**
+ * Counts the statements executed and the connections acquired on behalf of the current {@link RequestContext}. Work
+ * outside a request is not counted.
+ */
+@Component
+class RequestStatementCounter extends SimpleJdbcEventListener {
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        if (e == null) {
+            RequestContext.current().ifPresent(RequestContext::recordConnection);
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        RequestContext.current().ifPresent(context -> context.recordStatement(timeElapsedNanos));
+    }
+}
@@ -0,0 +1,32 @@
+package io.zhc1.realworld.config;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL statements to their shape, so that statements differing only in literals are aggregated together.
+ *
+ * <p>Hibernate binds parameters, so most statements already are shapes. Literals inlined by hand and {@code in} lists
+ * of varying length are collapsed, e.g. {@code where id in (?, ?, ?) and name = 'java'} becomes
+ * {@code where id in (?...) and name = ?}.
+ */
+final class SqlShapes {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShapes() {}
+
+    /**
+     * Get the shape of a SQL statement.
+     *
+     * @param sql SQL statement, with or without bound parameters
+     * @return Returns the statement with literals replaced by {@code ?} and parameter lists collapsed
+     */
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").strip();
+    }
+}
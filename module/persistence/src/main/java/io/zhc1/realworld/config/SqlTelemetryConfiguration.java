@@ -0,0 +1,30 @@
+package io.zhc1.realworld.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Production mode of the query log. It is meant to replace the p6spy logging of every statement, so it is usually
+ * enabled together with {@code decorator.datasource.p6spy.enable-logging=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "realworld.sql-telemetry.enabled", havingValue = "true")
+class SqlTelemetryConfiguration {
+    @Bean
+    SqlTelemetryListener sqlTelemetryListener(
+            @Value("${realworld.sql-telemetry.sample-rate:0.001}") double sampleRate,
+            @Value("${realworld.sql-telemetry.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${realworld.sql-telemetry.max-shapes:500}") int maxShapes,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SqlTelemetryListener(
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), sampleRate, slowThreshold, maxShapes);
+    }
+}
@@ -0,0 +1,105 @@
+package io.zhc1.realworld.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aggregates the count and latency of executed statements per query shape, instead of logging every statement.
+ *
+ * <p>Statements are recorded into a timer with a percentile histogram per shape, which is lock-free on the hot path.
+ * Only slow statements, and a random sample of the others, pay for the call stack capture and pretty printing of
+ * {@link DataSourceConfiguration.PrettyQueryFormatStrategy}. Shapes beyond the maximum are recorded as {@code other},
+ * so that a statement built with inlined values cannot grow the number of meters without bound.
+ */
+class SqlTelemetryListener extends SimpleJdbcEventListener {
+    static final String METER_NAME = "realworld.sql.statements";
+    static final String OTHER_SHAPE = "other";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTelemetryListener.class);
+
+    private final MeterRegistry registry;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int maxShapes;
+
+    private final Cache<String, String> shapes;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final DataSourceConfiguration.PrettyQueryFormatStrategy formatter =
+            new DataSourceConfiguration.PrettyQueryFormatStrategy();
+
+    SqlTelemetryListener(MeterRegistry registry, double sampleRate, Duration slowThreshold, int maxShapes) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sample rate must be between 0 and 1.");
+        }
+
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxShapes = maxShapes;
+        this.shapes = Caffeine.newBuilder().maximumSize(maxShapes * 4L).build();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String sql = statementInformation.getSql();
+        if (sql == null || sql.isBlank()) {
+            return;
+        }
+
+        // Note: Hibernate reuses the same statement strings, so each distinct string is normalized only once.
+        String shape = shapes.get(sql, SqlShapes::normalize);
+        timerOf(shape).record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+
+        boolean slow = timeElapsedNanos >= slowThresholdNanos;
+        if (slow || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log(statementInformation, timeElapsedNanos, slow);
+        }
+    }
+
+    private Timer timerOf(String shape) {
+        Timer timer = timers.get(shape);
+        if (timer != null) {
+            return timer;
+        }
+
+        String tag = timers.size() < maxShapes ? shape : OTHER_SHAPE;
+        return timers.computeIfAbsent(tag, it -> Timer.builder(METER_NAME)
+                .description("Executed SQL statements per query shape")
+                .tag("shape", it)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private void log(StatementInformation statementInformation, long timeElapsedNanos, boolean slow) {
+        var connection = statementInformation.getConnectionInformation();
+        String message = formatter.formatMessage(
+                connection.getConnectionId(),
+                "",
+                TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                "statement",
+                statementInformation.getSql(),
+                statementInformation.getSqlWithValues(),
+                connection.getUrl());
+
+        if (slow) {
+            log.warn("Slow statement:{}", message);
+        } else {
+            log.info("Sampled statement:{}", message);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import io.zhc1.realworld.model.Article;
 import io.zhc1.realworld.model.ArticleFavorite;
@@ -12,4 +18,21 @@ interface ArticleFavoriteJpaRepository extends JpaRepository<ArticleFavorite, In
     boolean existsByUserAndArticle(User user, Article article);
 
     int countByArticle(Article article);
+
+    @Query(
+            """
+            select favorite.article.id as articleId, count(favorite.id) as favoritesCount
+            from ArticleFavorite favorite
+            where favorite.article in :articles
+            group by favorite.article.id
+            """)
+    List<FavoritesCountRow> countByArticleIn(@Param("articles") Collection<Article> articles);
+
+    @Query(
+            """
+            select favorite.article.id from ArticleFavorite favorite
+            where favorite.user = :user and favorite.article in :articles
+            """)
+    Set<Integer> findArticleIdsByUserAndArticleIn(
+            @Param("user") User user, @Param("articles") Collection<Article> articles);
 }
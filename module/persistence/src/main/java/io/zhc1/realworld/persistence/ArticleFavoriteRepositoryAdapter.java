@@ -1,5 +1,10 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -8,26 +13,50 @@ import lombok.RequiredArgsConstructor;
 import io.zhc1.realworld.model.Article;
 import io.zhc1.realworld.model.ArticleFavorite;
 import io.zhc1.realworld.model.ArticleFavoriteRepository;
+import io.zhc1.realworld.model.ArticlesChangedEvent;
+import io.zhc1.realworld.model.DomainEvent;
 import io.zhc1.realworld.model.User;
 
 @Repository
 @RequiredArgsConstructor
 class ArticleFavoriteRepositoryAdapter implements ArticleFavoriteRepository {
     private final ArticleFavoriteJpaRepository articleFavoriteJpaRepository;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public void save(ArticleFavorite articleFavorite) {
         articleFavoriteJpaRepository.save(articleFavorite);
+        outbox.record(
+                DomainEvent.Type.ARTICLE_FAVORITED,
+                articleFavorite.getArticle().getId(),
+                articleFavorite.getUser().getId(),
+                List.of());
+        TransactionCallbacks.afterCommit(() -> eventPublisher.publishEvent(
+                ArticlesChangedEvent.ofFavorite(articleFavorite.getArticle(), articleFavorite.getUser())));
     }
 
     @Override
     @Transactional
     public void deleteBy(User user, Article article) {
         articleFavoriteJpaRepository.deleteByUserAndArticle(user, article);
+        outbox.record(DomainEvent.Type.ARTICLE_UNFAVORITED, article.getId(), user.getId(), List.of());
+        TransactionCallbacks.afterCommit(
+                () -> eventPublisher.publishEvent(ArticlesChangedEvent.ofFavorite(article, user)));
     }
 
     @Override
     public boolean existsBy(User user, Article article) {
         return articleFavoriteJpaRepository.existsByUserAndArticle(user, article);
     }
+
+    @Override
+    public Set<Integer> findFavoritedArticleIds(User user, Collection<Article> articles) {
+        if (articles.isEmpty()) {
+            return Set.of();
+        }
+
+        return articleFavoriteJpaRepository.findArticleIdsByUserAndArticleIn(user, articles);
+    }
 }
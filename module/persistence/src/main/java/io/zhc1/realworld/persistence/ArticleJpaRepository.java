@@ -1,13 +1,17 @@
 package io.zhc1.realworld.persistence;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import io.zhc1.realworld.model.Article;
 import io.zhc1.realworld.model.User;
@@ -15,6 +19,33 @@ import io.zhc1.realworld.model.User;
 interface ArticleJpaRepository extends JpaRepository<Article, Integer>, JpaSpecificationExecutor<Article> {
     Optional<Article> findBySlug(String slug);
 
+    @Query(
+            """
+            select a from Article a
+            join fetch a.author
+            left join fetch a.articleTags articleTag
+            left join fetch articleTag.tag
+            where a.slug in :slugs
+            """)
+    List<Article> findAllBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    @Query(
+            """
+            select a.updatedAt as updatedAt,
+                   count(favorite.id) as favoritesCount,
+                   coalesce(sum(case when favorite.user.id = :requesterId then 1 else 0 end), 0)
+                       as requesterFavoritesCount,
+                   author.username as authorUsername,
+                   author.bio as authorBio,
+                   author.imageUrl as authorImageUrl
+            from Article a
+            join a.author author
+            left join ArticleFavorite favorite on favorite.article = a
+            where a.slug = :slug
+            group by a.id, a.updatedAt, author.username, author.bio, author.imageUrl
+            """)
+    Optional<ArticleVersionRow> findVersionBySlug(@Param("slug") String slug, @Param("requesterId") UUID requesterId);
+
     @SuppressWarnings("NullableProblems")
     Page<Article> findAll(Specification<Article> spec, Pageable pageable);
 
@@ -3,42 +3,94 @@ package io.zhc1.realworld.persistence;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 
+import io.zhc1.realworld.config.CacheName;
 import io.zhc1.realworld.model.Article;
 import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleEditConflictException;
 import io.zhc1.realworld.model.ArticleFacets;
 import io.zhc1.realworld.model.ArticleRepository;
 import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.ArticleVersion;
+import io.zhc1.realworld.model.ArticlesChangedEvent;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.NewTagsEvent;
 import io.zhc1.realworld.model.Tag;
 import io.zhc1.realworld.model.User;
 
 @Repository
 @RequiredArgsConstructor
 class ArticleRepositoryAdapter implements ArticleRepository {
-    private final TagJpaRepository tagJpaRepository;
+    private static final String MERGE_TAG =
+            """
+            merge into tag using (select cast(? as varchar(20)) as name) new_tag on tag.name = new_tag.name
+            when not matched then insert (name, created_at) values (new_tag.name, localtimestamp)
+            """;
+
+    private final EntityManager entityManager;
     private final ArticleJpaRepository articleJpaRepository;
     private final ArticleCommentJpaRepository articleCommentJpaRepository;
     private final ArticleFavoriteJpaRepository articleFavoriteJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TagUsageIndex tagUsageIndex;
+    private final CacheManager cacheManager;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public Article save(Article article) {
-        return articleJpaRepository.save(article);
+        var type = article.getId() == null ? DomainEvent.Type.ARTICLE_WRITTEN : DomainEvent.Type.ARTICLE_EDITED;
+
+        Article savedArticle;
+        try {
+            // Note: Flushed here, so an edit based on an outdated copy fails now rather than when the transaction ends.
+            savedArticle = articleJpaRepository.saveAndFlush(article);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ArticleEditConflictException("article was edited by another request, please try again.", e);
+        }
+        onArticleChanged(type, savedArticle);
+        return savedArticle;
     }
 
     @Override
     @Transactional
     public Article save(Article article, Collection<Tag> tags) {
-        var savedArticle = save(article);
-        for (var tag : tagJpaRepository.saveAll(tags)) {
-            savedArticle.addTag(new ArticleTag(savedArticle, tag));
+        var savedArticle = articleJpaRepository.save(article);
+        var tagNames = tags.stream().map(Tag::getName).distinct().toList();
+
+        // Note: Tags known to the usage index exist. The others are merged in one batch, which inserts those still
+        // missing and leaves alone those another request inserted in the meantime, so every tag is referenced without
+        // being read.
+        var unknownTagNames = tagNames.stream()
+                .filter(name -> !tagUsageIndex.isKnown(name))
+                .map(name -> new Object[] {name})
+                .toList();
+        if (!unknownTagNames.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_TAG, unknownTagNames);
         }
+        for (var tagName : tagNames) {
+            savedArticle.addTag(new ArticleTag(savedArticle, entityManager.getReference(Tag.class, tagName)));
+        }
+
+        onArticleChanged(DomainEvent.Type.ARTICLE_WRITTEN, savedArticle);
+        TransactionCallbacks.afterCommit(() -> onTagsUsed(tagNames));
+
         return savedArticle;
     }
 
@@ -52,11 +104,43 @@ class ArticleRepositoryAdapter implements ArticleRepository {
         return articleJpaRepository.findAll(spec, pageable).getContent();
     }
 
+    @Override
+    public Optional<Article> findById(int id) {
+        return articleJpaRepository.findById(id);
+    }
+
     @Override
     public Optional<Article> findBySlug(String slug) {
         return articleJpaRepository.findBySlug(slug);
     }
 
+    @Override
+    public List<Article> findBySlugs(Collection<String> slugs) {
+        if (slugs.isEmpty()) {
+            return List.of();
+        }
+
+        return articleJpaRepository.findAllBySlugIn(slugs);
+    }
+
+    @Override
+    public Optional<ArticleVersion> findVersion(String slug) {
+        return findVersion(null, slug);
+    }
+
+    @Override
+    public Optional<ArticleVersion> findVersion(UUID requesterId, String slug) {
+        return articleJpaRepository
+                .findVersionBySlug(slug, requesterId)
+                .map(row -> new ArticleVersion(
+                        row.getUpdatedAt(),
+                        Math.toIntExact(row.getFavoritesCount()),
+                        row.getRequesterFavoritesCount() > 0,
+                        row.getAuthorUsername(),
+                        row.getAuthorBio(),
+                        row.getAuthorImageUrl()));
+    }
+
     @Override
     public List<Article> findByAuthors(Collection<User> authors, ArticleFacets facets) {
         return articleJpaRepository
@@ -81,15 +165,61 @@ class ArticleRepositoryAdapter implements ArticleRepository {
         return new ArticleDetails(article, totalFavorites, favorited);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleDetails> findArticleDetails(List<Article> articles) {
+        if (articles.isEmpty()) {
+            return List.of();
+        }
+
+        var favoritesCounts = articleFavoriteJpaRepository.countByArticleIn(articles).stream()
+                .collect(Collectors.toMap(FavoritesCountRow::getArticleId, FavoritesCountRow::getFavoritesCount));
+        return articles.stream()
+                .map(article -> ArticleDetails.unauthenticated(
+                        article, Math.toIntExact(favoritesCounts.getOrDefault(article.getId(), 0L))))
+                .toList();
+    }
+
     @Override
     @Transactional
     public void delete(Article article) {
+        var tagNames = article.getArticleTags().stream()
+                .map(ArticleTag::getTag)
+                .map(Tag::getName)
+                .distinct()
+                .toList();
+
         articleCommentJpaRepository.deleteByArticle(article);
         articleJpaRepository.delete(article);
+
+        outbox.record(DomainEvent.Type.ARTICLE_DELETED, article.getId(), article.getAuthor().getId(), tagNames);
+        TransactionCallbacks.afterCommit(() -> {
+            tagUsageIndex.decrement(tagNames);
+            eventPublisher.publishEvent(ArticlesChangedEvent.ofArticle(article));
+        });
     }
 
     @Override
     public boolean existsBy(String title) {
         return articleJpaRepository.existsByTitle(title);
     }
+
+    private void onArticleChanged(DomainEvent.Type type, Article article) {
+        outbox.record(type, article, article.getAuthor().getId());
+        TransactionCallbacks.afterCommit(() -> eventPublisher.publishEvent(ArticlesChangedEvent.ofArticle(article)));
+    }
+
+    private void onTagsUsed(List<String> tagNames) {
+        var newTagNames = tagUsageIndex.increment(tagNames);
+        if (newTagNames.isEmpty()) {
+            return;
+        }
+
+        // Note: The cached tag list must be evicted before anyone is told that it changed.
+        var allTags = cacheManager.getCache(CacheName.ALL_TAGS);
+        if (allTags != null) {
+            allTags.clear();
+        }
+        eventPublisher.publishEvent(new NewTagsEvent(newTagNames));
+    }
 }
@@ -0,0 +1,17 @@
+package io.zhc1.realworld.persistence;
+
+import java.time.LocalDateTime;
+
+interface ArticleVersionRow {
+    LocalDateTime getUpdatedAt();
+
+    long getFavoritesCount();
+
+    long getRequesterFavoritesCount();
+
+    String getAuthorUsername();
+
+    String getAuthorBio();
+
+    String getAuthorImageUrl();
+}
@@ -0,0 +1,139 @@
+package io.zhc1.realworld.persistence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.Tag;
+
+/**
+ * The outbox table of {@link DomainEvent}s. Writes record their events here in their own transaction, so an event
+ * exists if and only if its write was committed, and the {@link OutboxDispatcher} of every instance reads them from
+ * here.
+ *
+ * <p>Events are not deleted once delivered, as no instance knows whether the others have read them yet. They are kept
+ * for the retention of the outbox instead, and purged by whichever instance gets to them first.
+ */
+@Component
+class DomainEventOutbox {
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+    private final Duration retention;
+
+    private final Semaphore recorded = new Semaphore(0);
+
+    DomainEventOutbox(
+            OutboxEventJpaRepository outboxEventJpaRepository,
+            @Value("${realworld.outbox.retention:1h}") Duration retention) {
+        this.outboxEventJpaRepository = outboxEventJpaRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * Record an event of an article in the transaction writing it.
+     *
+     * @param type what was written
+     * @param article article written
+     * @param actorId id of the author or of the user who (un)favorited
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(DomainEvent.Type type, Article article, UUID actorId) {
+        var tagNames = article.getArticleTags().stream()
+                .map(ArticleTag::getTag)
+                .map(Tag::getName)
+                .distinct()
+                .toList();
+        record(type, article.getId(), actorId, tagNames);
+    }
+
+    /**
+     * Record an event in the transaction of its write. No row is locked, so concurrent writes of the same article or
+     * user do not wait for each other.
+     *
+     * @param type what was written
+     * @param aggregateId id of the article or user the event is about
+     * @param actorId id of the user who wrote
+     * @param tagNames names of the article's tags, or empty
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(DomainEvent.Type type, Object aggregateId, UUID actorId, Collection<String> tagNames) {
+        outboxEventJpaRepository.save(new OutboxEvent(type, aggregateId.toString(), actorId, tagNames));
+        TransactionCallbacks.afterCommit(this::signalRecorded);
+    }
+
+    /**
+     * Wait until an event was recorded on this instance since the previous call, or until the timeout elapses.
+     *
+     * @param timeout how long to wait at most
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitRecorded(Duration timeout) throws InterruptedException {
+        if (recorded.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            recorded.drainPermits();
+        }
+    }
+
+    /**
+     * Get the id of the last event committed so far.
+     *
+     * @return Returns the id, or 0 if the outbox is empty
+     */
+    @Transactional
+    public long findLastId() {
+        // Note: Read-write, so the reads of the outbox go to the primary and never lag behind on a replica.
+        var lastId = outboxEventJpaRepository.findLastId();
+        return lastId == null ? 0 : lastId;
+    }
+
+    /**
+     * Get the events committed after an id, in the order of their ids.
+     *
+     * @param after id of the last event read
+     * @param limit maximum number of events
+     * @return Returns the events
+     */
+    @Transactional
+    public List<OutboxEvent> findAfter(long after, int limit) {
+        return outboxEventJpaRepository.findAfter(after, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * Get the events with the given ids that have been committed by now.
+     *
+     * @param ids event ids
+     * @return Returns the events found
+     */
+    @Transactional
+    public List<OutboxEvent> findByIds(Collection<Long> ids) {
+        return outboxEventJpaRepository.findAllById(ids);
+    }
+
+    /**
+     * Delete the events older than the retention of the outbox.
+     *
+     * @return Returns the number of events deleted
+     */
+    @Transactional
+    public int purge() {
+        return outboxEventJpaRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private void signalRecorded() {
+        // Note: A single permit is enough to wake the dispatcher, which then reads every new event.
+        if (recorded.availablePermits() == 0) {
+            recorded.release();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.zhc1.realworld.persistence;
+
+interface FavoritesCountRow {
+    Integer getArticleId();
+
+    long getFavoritesCount();
+}
@@ -0,0 +1,267 @@
+package io.zhc1.realworld.persistence;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the events of the {@link DomainEventOutbox} to the in-process subscribers of this instance, i.e. listeners
+ * of {@link io.zhc1.realworld.model.DomainEvent}, off the request path.
+ *
+ * <p>Every instance runs its own dispatcher, which keeps a cursor over the ids of the outbox and delivers each event
+ * committed after it started, whichever instance recorded it. It wakes up whenever a write of this instance commits,
+ * and polls for the writes of the others. Events are delivered one after the other in the order of their ids, which
+ * follows the order of writes that depend on each other, such as a follow and the unfollow after it.
+ *
+ * <p>Concurrent writes may commit in another order than their ids. An id that is skipped while later ones are already
+ * committed is looked up again on every round, and delivered once it commits, until the gap timeout tells it was
+ * rolled back. Such an event is delivered after later ones, which is harmless, as only writes that did not wait for
+ * each other can overtake one another.
+ *
+ * <p>If a subscriber throws, the event is retried with a growing backoff and the later events of its aggregate wait
+ * for it, so delivery is at least once and in order per aggregate. An event that keeps failing is given up on after
+ * its last attempt, and logged, so it does not hold back its aggregate forever.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "realworld.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+class OutboxDispatcher implements SmartLifecycle {
+    /** Ids are taken one at a time, so no more are missing at once than there are writes in flight. */
+    private static final int MAX_GAP = 1_000;
+
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration purgeInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    // Note: Only used by the thread of the loop once started.
+    private long cursor;
+    private final Map<Long, Long> gapsNoticedAt = new LinkedHashMap<>();
+    private final Map<String, ArrayDeque<Delivery>> retries = new HashMap<>();
+    private long lastPurgeAt;
+
+    private volatile Thread loop;
+
+    OutboxDispatcher(
+            DomainEventOutbox outbox,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${realworld.outbox.batch-size:100}") int batchSize,
+            @Value("${realworld.outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${realworld.outbox.gap-timeout:1m}") Duration gapTimeout,
+            @Value("${realworld.outbox.purge-interval:1m}") Duration purgeInterval,
+            @Value("${realworld.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${realworld.outbox.max-backoff:5m}") Duration maxBackoff,
+            @Value("${realworld.outbox.max-attempts:10}") int maxAttempts) {
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.purgeInterval = purgeInterval;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public void start() {
+        // Note: State derived from events is loaded after this instance started, so earlier events are not delivered.
+        cursor = outbox.findLastId();
+        lastPurgeAt = System.nanoTime();
+        loop = Thread.ofVirtual()
+                .name("outbox-dispatcher")
+                .inheritInheritableThreadLocals(false)
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        var current = loop;
+        loop = null;
+        if (current == null) {
+            return;
+        }
+
+        current.interrupt();
+        try {
+            current.join(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return loop != null;
+    }
+
+    /**
+     * Deliver the events committed since the previous round, and the retries that are due.
+     *
+     * @return Returns the number of events delivered
+     */
+    int dispatch() {
+        var events = new ArrayList<>(outbox.findAfter(cursor, batchSize));
+        if (!gapsNoticedAt.isEmpty()) {
+            var filled = outbox.findByIds(gapsNoticedAt.keySet());
+            filled.forEach(event -> gapsNoticedAt.remove(event.getId()));
+            events.addAll(filled);
+        }
+
+        long now = System.nanoTime();
+        for (var event : events) {
+            if (event.getId() > cursor) {
+                for (long id = Math.max(cursor + 1, event.getId() - MAX_GAP); id < event.getId(); id++) {
+                    gapsNoticedAt.put(id, now);
+                }
+                cursor = event.getId();
+            }
+        }
+        gapsNoticedAt.values().removeIf(noticedAt -> now - noticedAt > gapTimeout.toNanos());
+
+        int delivered = 0;
+        events.sort(Comparator.comparing(OutboxEvent::getId));
+        for (var event : events) {
+            var waiting = retries.get(key(event));
+            if (waiting != null) {
+                waiting.add(new Delivery(event));
+            } else if (this.deliver(new Delivery(event))) {
+                delivered++;
+            }
+        }
+        return delivered + this.retryDue();
+    }
+
+    private int retryDue() {
+        long now = System.nanoTime();
+        int delivered = 0;
+        for (var iterator = retries.values().iterator(); iterator.hasNext(); ) {
+            var waiting = iterator.next();
+            while (!waiting.isEmpty() && waiting.peek().nextAttemptAt - now <= 0) {
+                var delivery = waiting.peek();
+                if (this.publish(delivery)) {
+                    delivered++;
+                } else if (delivery.attempts < maxAttempts) {
+                    break;
+                }
+                waiting.poll();
+            }
+            if (waiting.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        return delivered;
+    }
+
+    private boolean deliver(Delivery delivery) {
+        if (this.publish(delivery)) {
+            return true;
+        }
+        if (delivery.attempts < maxAttempts) {
+            retries.computeIfAbsent(key(delivery.event), key -> new ArrayDeque<>()).add(delivery);
+        }
+        return false;
+    }
+
+    private boolean publish(Delivery delivery) {
+        var event = delivery.event;
+        try {
+            eventPublisher.publishEvent(event.toDomainEvent());
+            return true;
+        } catch (RuntimeException e) {
+            delivery.failed(initialBackoff, maxBackoff);
+            if (delivery.attempts < maxAttempts) {
+                log.warn("Failed to deliver event {} of type {}, will retry.", event.getId(), event.getType(), e);
+            } else {
+                log.error(
+                        "Gave up on event {} of type {} after {} failed deliveries, later events of {} {} go ahead.",
+                        event.getId(),
+                        event.getType(),
+                        delivery.attempts,
+                        event.getAggregateType(),
+                        event.getAggregateId(),
+                        e);
+            }
+            return false;
+        }
+    }
+
+    private Duration untilNextRetry() {
+        long now = System.nanoTime();
+        return retries.values().stream()
+                .map(waiting -> Duration.ofNanos(Math.max(waiting.peek().nextAttemptAt - now, 0)))
+                .filter(wait -> wait.compareTo(pollInterval) < 0)
+                .min(Comparator.naturalOrder())
+                .orElse(pollInterval);
+    }
+
+    private void run() {
+        while (loop == Thread.currentThread()) {
+            try {
+                // Note: Read again right away after a delivery, as a full batch may have left more events behind.
+                if (this.dispatch() == 0) {
+                    outbox.awaitRecorded(this.untilNextRetry());
+                }
+                if (System.nanoTime() - lastPurgeAt >= purgeInterval.toNanos()) {
+                    lastPurgeAt = System.nanoTime();
+                    outbox.purge();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (loop != Thread.currentThread()) {
+                    return;
+                }
+                log.error("Failed to dispatch outbox events.", e);
+                sleep(pollInterval);
+            }
+        }
+    }
+
+    private static String key(OutboxEvent event) {
+        return event.getAggregateType() + ":" + event.getAggregateId();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Delivery {
+        private final OutboxEvent event;
+        private int attempts;
+        private long nextAttemptAt;
+
+        private Delivery(OutboxEvent event) {
+            this.event = event;
+            this.nextAttemptAt = System.nanoTime();
+        }
+
+        /** Record a failed attempt and postpone the next one, twice as long after each failure. */
+        private void failed(Duration initialBackoff, Duration maxBackoff) {
+            attempts++;
+            var backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+            nextAttemptAt = System.nanoTime() + (backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff).toNanos();
+        }
+    }
+}
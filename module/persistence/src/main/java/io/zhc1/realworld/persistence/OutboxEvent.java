@@ -0,0 +1,79 @@
+package io.zhc1.realworld.persistence;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import io.zhc1.realworld.model.DomainEvent;
+
+/**
+ * A {@link DomainEvent} in the outbox, read by the dispatcher of every instance and deleted once it is older than the
+ * retention of the outbox.
+ *
+ * <p>Note: Ids are taken one at a time when the event is recorded, so an event recorded after another one committed
+ * has a greater id, and events are delivered in the order of their ids. Events of concurrent writes may commit in
+ * another order than their ids, see {@link OutboxDispatcher}.
+ */
+@Entity
+@Getter
+@SuppressWarnings("JpaDataSourceORMInspection")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_created_at", columnList = "created_at"))
+class OutboxEvent {
+    private static final String TAG_NAME_SEPARATOR = "\n";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", length = 20, nullable = false, updatable = false)
+    private DomainEvent.Aggregate aggregateType;
+
+    @Column(name = "aggregate_id", length = 36, nullable = false, updatable = false)
+    private String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false, updatable = false)
+    private DomainEvent.Type type;
+
+    @Column(nullable = false, updatable = false)
+    private UUID actorId;
+
+    @Column(length = 1_000, updatable = false)
+    private String tagNames;
+
+    @Column(nullable = false, updatable = false)
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    OutboxEvent(DomainEvent.Type type, String aggregateId, UUID actorId, Collection<String> tagNames) {
+        this.aggregateType = type.aggregate();
+        this.aggregateId = aggregateId;
+        this.type = type;
+        this.actorId = actorId;
+        this.tagNames = tagNames.isEmpty() ? null : String.join(TAG_NAME_SEPARATOR, tagNames);
+    }
+
+    DomainEvent toDomainEvent() {
+        var names = tagNames == null ? List.<String>of() : Arrays.asList(tagNames.split(TAG_NAME_SEPARATOR));
+        return new DomainEvent(id, type, aggregateId, actorId, names, createdAt);
+    }
+}
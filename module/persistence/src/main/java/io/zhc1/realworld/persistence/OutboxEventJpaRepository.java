@@ -0,0 +1,22 @@
+package io.zhc1.realworld.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+interface OutboxEventJpaRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query("select event from OutboxEvent event where event.id > :after order by event.id")
+    List<OutboxEvent> findAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select max(event.id) from OutboxEvent event")
+    Long findLastId();
+
+    @Modifying
+    @Query("delete from OutboxEvent event where event.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
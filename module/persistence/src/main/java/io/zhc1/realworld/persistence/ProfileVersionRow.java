@@ -0,0 +1,11 @@
+package io.zhc1.realworld.persistence;
+
+interface ProfileVersionRow {
+    String getUsername();
+
+    String getBio();
+
+    String getImageUrl();
+
+    long getViewerFollowsCount();
+}
@@ -1,7 +1,18 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import io.zhc1.realworld.model.Tag;
 
-interface TagJpaRepository extends JpaRepository<Tag, Integer> {}
+interface TagJpaRepository extends JpaRepository<Tag, String> {
+    @Query(
+            """
+            select t.name as name, count(articleTag.id) as articleCount
+            from Tag t left join ArticleTag articleTag on articleTag.tag = t
+            group by t.name
+            """)
+    List<TagUsage> findAllUsages();
+}
@@ -15,10 +15,21 @@ import io.zhc1.realworld.model.TagRepository;
 @RequiredArgsConstructor
 class TagRepositoryAdapter implements TagRepository {
     private final TagJpaRepository tagJpaRepository;
+    private final TagUsageIndex tagUsageIndex;
 
     @Override
     @Cacheable(value = CacheName.ALL_TAGS)
     public List<Tag> findAll() {
         return tagJpaRepository.findAll();
     }
+
+    @Override
+    public List<Tag> findPopular(int top) {
+        return tagUsageIndex.popular(top).stream().map(Tag::new).toList();
+    }
+
+    @Override
+    public List<Tag> findByPrefix(String prefix, int limit) {
+        return tagUsageIndex.suggest(prefix, limit).stream().map(Tag::new).toList();
+    }
 }
@@ -0,0 +1,7 @@
+package io.zhc1.realworld.persistence;
+
+interface TagUsage {
+    String getName();
+
+    long getArticleCount();
+}
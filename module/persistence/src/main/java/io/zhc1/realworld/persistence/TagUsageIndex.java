@@ -0,0 +1,200 @@
+package io.zhc1.realworld.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of how many articles use each tag.
+ *
+ * <p>The index is loaded at startup and then maintained incrementally by the article write path, so reading the most
+ * popular tags or suggesting tags by prefix never touches the {@code tag} or {@code article_tag} tables. Mutations are
+ * serialized, while reads only see immutable snapshots.
+ *
+ * <p>The write path only counts the writes of this instance, so the index is loaded again every reconcile interval to
+ * pick up the writes of the others. A write committing while the index is loaded may be counted twice until the next
+ * load.
+ */
+@Slf4j
+@Component
+class TagUsageIndex {
+    static final int TOP_CAPACITY = 100;
+
+    private static final Comparator<Usage> BY_POPULARITY =
+            Comparator.comparingLong(Usage::articleCount).reversed().thenComparing(Usage::name);
+
+    private final TagJpaRepository tagJpaRepository;
+    private final Duration reconcileInterval;
+
+    private final Map<String, Long> articleCounts = new ConcurrentHashMap<>();
+    private final NavigableSet<Usage> ranking = new TreeSet<>(BY_POPULARITY);
+    private volatile List<String> popular = List.of();
+    private volatile String[] sortedNames = new String[0];
+    private ScheduledExecutorService reconciler;
+
+    TagUsageIndex(
+            TagJpaRepository tagJpaRepository,
+            @Value("${realworld.tag-usage.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.tagJpaRepository = tagJpaRepository;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        load();
+
+        reconciler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual()
+                .name("tag-usage-reconciler")
+                .inheritInheritableThreadLocals(false)
+                .factory());
+        reconciler.scheduleWithFixedDelay(
+                this::reconcile, reconcileInterval.toNanos(), reconcileInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    synchronized void load() {
+        // Note: Read before clearing, so the index keeps answering from its previous state while it is queried.
+        var usages = tagJpaRepository.findAllUsages();
+        articleCounts.clear();
+        ranking.clear();
+
+        for (var usage : usages) {
+            articleCounts.put(usage.getName(), usage.getArticleCount());
+            ranking.add(new Usage(usage.getName(), usage.getArticleCount()));
+        }
+
+        refreshPopular();
+        refreshSortedNames();
+    }
+
+    private void reconcile() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Note: Caught, as a scheduled task that throws is never run again.
+            log.warn("Failed to reconcile tag usages, will retry.", e);
+        }
+    }
+
+    boolean isKnown(String name) {
+        return articleCounts.containsKey(name);
+    }
+
+    /**
+     * Count one more article for each tag.
+     *
+     * @param names tag names
+     * @return Returns the names that were not known to the index before
+     */
+    synchronized List<String> increment(Collection<String> names) {
+        var newNames = names.stream().filter(name -> !isKnown(name)).toList();
+
+        names.forEach(name -> adjust(name, 1));
+        refreshPopular();
+        if (!newNames.isEmpty()) {
+            refreshSortedNames();
+        }
+
+        return newNames;
+    }
+
+    synchronized void decrement(Collection<String> names) {
+        names.forEach(name -> adjust(name, -1));
+        refreshPopular();
+    }
+
+    /**
+     * Get the names of the most used tags. Tags that are no longer used by any article are never returned.
+     *
+     * @param top number of tags to return, at most {@link #TOP_CAPACITY}
+     * @return Returns tag names ordered by usage, then by name
+     */
+    List<String> popular(int top) {
+        var snapshot = this.popular;
+        return snapshot.subList(0, Math.min(top, snapshot.size()));
+    }
+
+    /**
+     * Get the names of tags starting with the prefix. Tags that are no longer used by any article are never returned.
+     *
+     * @param prefix case-sensitive prefix of tag names
+     * @param limit maximum number of tags to return
+     * @return Returns tag names ordered by usage, then by name
+     */
+    List<String> suggest(String prefix, int limit) {
+        var snapshot = this.sortedNames;
+
+        // Note: Names sharing a prefix are contiguous in a sorted array, so only that range is visited.
+        int from = Arrays.binarySearch(snapshot, prefix);
+        if (from < 0) {
+            from = -(from + 1);
+        }
+
+        var candidates = new ArrayList<Usage>();
+        for (int i = from; i < snapshot.length && snapshot[i].startsWith(prefix); i++) {
+            long articleCount = articleCounts.getOrDefault(snapshot[i], 0L);
+            if (articleCount > 0) {
+                candidates.add(new Usage(snapshot[i], articleCount));
+            }
+        }
+
+        return candidates.stream()
+                .sorted(BY_POPULARITY)
+                .limit(limit)
+                .map(Usage::name)
+                .toList();
+    }
+
+    private void adjust(String name, long delta) {
+        long current = articleCounts.getOrDefault(name, 0L);
+        long updated = Math.max(current + delta, 0L);
+
+        ranking.remove(new Usage(name, current));
+        ranking.add(new Usage(name, updated));
+        articleCounts.put(name, updated);
+    }
+
+    private void refreshPopular() {
+        var snapshot = new ArrayList<String>(TOP_CAPACITY);
+        for (var usage : ranking) {
+            if (usage.articleCount() == 0 || snapshot.size() == TOP_CAPACITY) {
+                break;
+            }
+            snapshot.add(usage.name());
+        }
+        this.popular = List.copyOf(snapshot);
+    }
+
+    private void refreshSortedNames() {
+        var snapshot = articleCounts.keySet().toArray(String[]::new);
+        Arrays.sort(snapshot);
+        this.sortedNames = snapshot;
+    }
+
+    private record Usage(String name, long articleCount) {}
+}
@@ -0,0 +1,28 @@
+package io.zhc1.realworld.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class TransactionCallbacks {
+    private TransactionCallbacks() {}
+
+    /**
+     * Run the callback once the current transaction commits, or immediately when there is no transaction. In-memory
+     * state derived from the database must never observe changes that are later rolled back.
+     *
+     * @param callback callback to run
+     */
+    static void afterCommit(Runnable callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                callback.run();
+            }
+        });
+    }
+}
@@ -1,8 +1,13 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.model.UserFollow;
@@ -13,4 +18,12 @@ interface UserFollowJpaRepository extends JpaRepository<UserFollow, Integer> {
     void deleteByFollowerAndFollowing(User follower, User following);
 
     boolean existsByFollowerAndFollowing(User follower, User following);
+
+    @Query(
+            """
+            select follow.following.id from UserFollow follow
+            where follow.follower = :follower and follow.following in :followings
+            """)
+    Set<UUID> findFollowingIdsByFollowerAndFollowingIn(
+            @Param("follower") User follower, @Param("followings") Collection<User> followings);
 }
@@ -1,9 +1,13 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import io.zhc1.realworld.model.User;
 
@@ -12,6 +16,21 @@ interface UserJpaRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByUsername(String username);
 
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    @Query(
+            """
+            select u.username as username,
+                   u.bio as bio,
+                   u.imageUrl as imageUrl,
+                   (select count(follow.id) from UserFollow follow
+                    where follow.following = u and follow.follower.id = :viewerId) as viewerFollowsCount
+            from User u
+            where u.username = :username
+            """)
+    Optional<ProfileVersionRow> findProfileVersionByUsername(
+            @Param("username") String username, @Param("viewerId") UUID viewerId);
+
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
@@ -1,12 +1,18 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 
+import io.zhc1.realworld.model.ArticlesChangedEvent;
+import io.zhc1.realworld.model.DomainEvent;
 import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.model.UserFollow;
 import io.zhc1.realworld.model.UserRelationshipRepository;
@@ -15,10 +21,20 @@ import io.zhc1.realworld.model.UserRelationshipRepository;
 @RequiredArgsConstructor
 class UserRelationshipRepositoryAdapter implements UserRelationshipRepository {
     private final UserFollowJpaRepository userFollowJpaRepository;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public void save(UserFollow userFollow) {
         userFollowJpaRepository.save(userFollow);
+        outbox.record(
+                DomainEvent.Type.USER_FOLLOWED,
+                userFollow.getFollowing().getId(),
+                userFollow.getFollower().getId(),
+                List.of());
+        TransactionCallbacks.afterCommit(
+                () -> eventPublisher.publishEvent(ArticlesChangedEvent.ofFollow(userFollow.getFollower())));
     }
 
     @Override
@@ -30,10 +46,21 @@ class UserRelationshipRepositoryAdapter implements UserRelationshipRepository {
     @Transactional
     public void deleteBy(User follower, User following) {
         userFollowJpaRepository.deleteByFollowerAndFollowing(follower, following);
+        outbox.record(DomainEvent.Type.USER_UNFOLLOWED, following.getId(), follower.getId(), List.of());
+        TransactionCallbacks.afterCommit(() -> eventPublisher.publishEvent(ArticlesChangedEvent.ofFollow(follower)));
     }
 
     @Override
     public boolean existsBy(User follower, User following) {
         return userFollowJpaRepository.existsByFollowerAndFollowing(follower, following);
     }
+
+    @Override
+    public Set<UUID> findFollowingIds(User follower, Collection<User> followings) {
+        if (followings.isEmpty()) {
+            return Set.of();
+        }
+
+        return userFollowJpaRepository.findFollowingIdsByFollowerAndFollowingIn(follower, followings);
+    }
 }
@@ -1,14 +1,20 @@
 package io.zhc1.realworld.persistence;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 
+import io.zhc1.realworld.model.ArticlesChangedEvent;
+import io.zhc1.realworld.model.DomainEvent;
 import io.zhc1.realworld.model.PasswordEncoder;
+import io.zhc1.realworld.model.ProfileVersion;
 import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.model.UserRepository;
 
@@ -16,6 +22,8 @@ import io.zhc1.realworld.model.UserRepository;
 @RequiredArgsConstructor
 class UserRepositoryAdapter implements UserRepository {
     private final UserJpaRepository userJpaRepository;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public User save(User user) {
@@ -37,6 +45,28 @@ class UserRepositoryAdapter implements UserRepository {
         return userJpaRepository.findByUsername(username);
     }
 
+    @Override
+    public List<User> findByUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+
+        return userJpaRepository.findByUsernameIn(usernames);
+    }
+
+    @Override
+    public Optional<ProfileVersion> findProfileVersion(String username) {
+        return findProfileVersion(null, username);
+    }
+
+    @Override
+    public Optional<ProfileVersion> findProfileVersion(UUID viewerId, String username) {
+        return userJpaRepository
+                .findProfileVersionByUsername(username, viewerId)
+                .map(row -> new ProfileVersion(
+                        row.getUsername(), row.getBio(), row.getImageUrl(), row.getViewerFollowsCount() > 0));
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         return userJpaRepository.existsByEmail(email);
@@ -77,6 +107,11 @@ class UserRepositoryAdapter implements UserRepository {
                     user.encryptPassword(passwordEncoder, password);
                     user.setBio(bio);
                     user.setImageUrl(imageUrl);
+
+                    // Note: Articles embed the profile of their author.
+                    outbox.record(DomainEvent.Type.PROFILE_UPDATED, user.getId(), user.getId(), List.of());
+                    TransactionCallbacks.afterCommit(
+                            () -> eventPublisher.publishEvent(ArticlesChangedEvent.ofProfile(user)));
                     return userJpaRepository.save(user);
                 })
                 .orElseThrow(() -> new IllegalArgumentException("user not found."));
@@ -1,6 +1,18 @@
+create sequence article_seq start with 1 increment by 50;
+
+create sequence article_comment_seq start with 1 increment by 50;
+
+create sequence article_favorite_seq start with 1 increment by 50;
+
+create sequence article_tag_seq start with 1 increment by 50;
+
+create sequence user_follow_seq start with 1 increment by 50;
+
+create sequence outbox_event_seq start with 1 increment by 1;
+
 create table article
 (
-    id          integer generated by default as identity,
+    id          integer       not null,
     created_at  timestamp(6)  not null,
     updated_at  timestamp(6),
     author_id   uuid          not null,
@@ -8,13 +20,14 @@ create table article
     slug        varchar(50)   not null unique,
     title       varchar(50)   not null unique,
     content     varchar(1000) not null,
+    version     bigint        not null,
     primary key (id)
 );
 
 create table article_favorite
 (
     article_id integer,
-    id         integer generated by default as identity,
+    id         integer      not null,
     created_at timestamp(6) not null,
     user_id    uuid,
     primary key (id),
@@ -24,7 +37,7 @@ create table article_favorite
 create table article_tag
 (
     article_id integer,
-    id         integer generated by default as identity,
+    id         integer      not null,
     created_at timestamp(6) not null,
     tag_name   varchar(20),
     primary key (id),
@@ -34,7 +47,7 @@ create table article_tag
 create table article_comment
 (
     article_id integer      not null,
-    id         integer generated by default as identity,
+    id         integer      not null,
     created_at timestamp(6) not null,
     author_id  uuid         not null,
     content    varchar(500) not null,
@@ -50,7 +63,7 @@ create table tag
 
 create table user_follow
 (
-    id           integer generated by default as identity,
+    id           integer      not null,
     created_at   timestamp(6) not null,
     follower_id  uuid,
     following_id uuid,
@@ -70,6 +83,18 @@ create table users
     primary key (id)
 );
 
+create table outbox_event
+(
+    id             bigint        not null,
+    aggregate_type varchar(20)   not null,
+    aggregate_id   varchar(36)   not null,
+    type           varchar(30)   not null,
+    actor_id       uuid          not null,
+    tag_names      varchar(1000),
+    created_at     timestamp(6)  not null,
+    primary key (id)
+);
+
 alter table if exists article
     add constraint fkmjgtny2i22jf4dqncmd436s0u foreign key (author_id) references users;
 
@@ -95,4 +120,16 @@ alter table if exists user_follow
     add constraint fki9gqdjcgtclgypxp2krye61n7 foreign key (follower_id) references users;
 
 alter table if exists user_follow
-    add constraint fk474orxbed564dk0mvggvt4xon foreign key (following_id) references users;
\ No newline at end of file
+    add constraint fk474orxbed564dk0mvggvt4xon foreign key (following_id) references users;
+
+create index idx_article_author_id_created_at on article (author_id, created_at);
+
+create index idx_article_favorite_article_id on article_favorite (article_id);
+
+create index idx_article_comment_article_id_created_at on article_comment (article_id, created_at);
+
+create index idx_user_follow_following_id on user_follow (following_id);
+
+create index idx_article_tag_tag_name on article_tag (tag_name);
+
+create index idx_outbox_event_created_at on outbox_event (created_at);
@@ -0,0 +1,94 @@
+package io.zhc1.realworld.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Admission Controlled DataSource - Connection Admission")
+class AdmissionControlledDataSourceTest {
+    DataSource targetDataSource;
+    SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Closing a connection should return its permit")
+    void whenConnectionClosed_thenPermitShouldBeReturned() throws SQLException {
+        // given
+        var sut = new AdmissionControlledDataSource("test", targetDataSource, 1, 0, Duration.ZERO, registry);
+        var connection = sut.getConnection();
+
+        // when
+        connection.close();
+        connection.close();
+
+        // then
+        assertThat(sut.availablePermits()).isOne();
+    }
+
+    @Test
+    @DisplayName("Callers beyond the wait queue should be rejected immediately")
+    void whenQueueIsFull_thenShouldRejectImmediately() throws SQLException {
+        // given
+        var sut = new AdmissionControlledDataSource("test", targetDataSource, 1, 0, Duration.ofMinutes(1), registry);
+        sut.getConnection();
+
+        // when & then
+        assertThatThrownBy(sut::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(registry.get("realworld.datasource.admission.rejected").counter().count()).isOne();
+    }
+
+    @Test
+    @DisplayName("Queued callers should be rejected after the maximum wait")
+    void whenWaitedTooLong_thenShouldReject() throws SQLException {
+        // given
+        var sut = new AdmissionControlledDataSource("test", targetDataSource, 1, 1, Duration.ofMillis(10), registry);
+        sut.getConnection();
+
+        // when & then
+        assertThatThrownBy(sut::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(sut.queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Queued callers should be admitted when a connection is closed")
+    void whenConnectionClosed_thenQueuedCallerShouldBeAdmitted() throws Exception {
+        // given
+        var sut = new AdmissionControlledDataSource("test", targetDataSource, 1, 1, Duration.ofSeconds(5), registry);
+        var connection = sut.getConnection();
+        var waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return sut.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // when
+        connection.close();
+
+        // then
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(sut.availablePermits()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package io.zhc1.realworld.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.zhc1.realworld.context.RequestContext;
+
+/**
+ * The primary and the replica are two separate H2 databases without replication, so a read shows which one served it.
+ */
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MYSQL",
+            "realworld.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;MODE=MYSQL",
+            "realworld.datasource.replica.initialize-schema=true",
+            "realworld.datasource.replica.read-your-writes-window=1m",
+            "decorator.datasource.p6spy.enable-logging=false"
+        })
+@DisplayName("Read Write Routing - Replica Routing of Read-Only Transactions")
+class ReadWriteRoutingTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("delete from tag"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should be served by the replica")
+    void whenReadOnly_thenShouldBeServedByReplica() {
+        // given
+        insertTag("java");
+
+        // when
+        var countOnReplica = readOnly.execute(status -> countTags());
+        var countOnPrimary = readWrite.execute(status -> countTags());
+
+        // then
+        assertThat(countOnReplica).isZero();
+        assertThat(countOnPrimary).isOne();
+    }
+
+    @Test
+    @DisplayName("A requester should read their own writes from the primary within the window")
+    void whenRequesterWroteRecently_thenReadOnlyShouldBeServedByPrimary() {
+        // given
+        var writer = UUID.randomUUID();
+        RequestContext.begin(writer);
+        insertTag("spring");
+
+        // when
+        var countForWriter = readOnly.execute(status -> countTags());
+        RequestContext.begin(UUID.randomUUID());
+        var countForOthers = readOnly.execute(status -> countTags());
+
+        // then
+        assertThat(countForWriter).isOne();
+        assertThat(countForOthers).isZero();
+    }
+
+    private void insertTag(String name) {
+        readWrite.executeWithoutResult(
+                status -> jdbcTemplate.update("insert into tag (name, created_at) values (?, now())", name));
+    }
+
+    private Integer countTags() {
+        return jdbcTemplate.queryForObject("select count(*) from tag", Integer.class);
+    }
+}
@@ -0,0 +1,97 @@
+package io.zhc1.realworld.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.p6spy.engine.common.StatementInformation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("SQL Telemetry Listener - Aggregation per Query Shape")
+class SqlTelemetryListenerTest {
+    SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Statements differing only in literals and list lengths should have the same shape")
+    void whenStatementsDifferInLiterals_thenShapesShouldBeSame() {
+        // given
+        var first = "select * from tag where name = 'java' and id in (?, ?) limit 10";
+        var second = "select *  from tag\n where name = 'it''s' and id in (?,?,?) limit 20";
+
+        // when
+        var firstShape = SqlShapes.normalize(first);
+        var secondShape = SqlShapes.normalize(second);
+
+        // then
+        assertThat(firstShape).isEqualTo("select * from tag where name = ? and id in (?...) limit ?");
+        assertThat(secondShape).isEqualTo(firstShape);
+    }
+
+    @Test
+    @DisplayName("Identifiers with digits should not be taken for literals")
+    void whenIdentifiersContainDigits_thenShouldBeKept() {
+        // when
+        var shape = SqlShapes.normalize("select a1_0.id from article a1_0 where a1_0.id = ?");
+
+        // then
+        assertThat(shape).isEqualTo("select a1_0.id from article a1_0 where a1_0.id = ?");
+    }
+
+    @Test
+    @DisplayName("Executions should be counted per shape")
+    void whenStatementsExecuted_thenShouldBeCountedPerShape() {
+        // given
+        var sut = new SqlTelemetryListener(registry, 0, Duration.ofMinutes(1), 10);
+
+        // when
+        sut.onAfterAnyExecute(statement("select * from tag where name = 'java'"), 1_000, null);
+        sut.onAfterAnyExecute(statement("select * from tag where name = 'spring'"), 3_000, null);
+        sut.onAfterAnyExecute(statement("select * from users where id = ?"), 2_000, null);
+
+        // then
+        var tagTimer = registry.get(SqlTelemetryListener.METER_NAME)
+                .tag("shape", "select * from tag where name = ?")
+                .timer();
+        assertThat(tagTimer.count()).isEqualTo(2);
+        assertThat(tagTimer.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(4_000);
+        assertThat(registry.get(SqlTelemetryListener.METER_NAME).timers()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Shapes beyond the maximum should be recorded as other")
+    void whenTooManyShapes_thenShouldBeRecordedAsOther() {
+        // given
+        var sut = new SqlTelemetryListener(registry, 0, Duration.ofMinutes(1), 2);
+
+        // when
+        sut.onAfterAnyExecute(statement("select * from tag"), 1_000, null);
+        sut.onAfterAnyExecute(statement("select * from users"), 1_000, null);
+        sut.onAfterAnyExecute(statement("select * from article"), 1_000, null);
+        sut.onAfterAnyExecute(statement("select * from article_tag"), 1_000, null);
+
+        // then
+        var otherTimer = registry.get(SqlTelemetryListener.METER_NAME)
+                .tag("shape", SqlTelemetryListener.OTHER_SHAPE)
+                .timer();
+        assertThat(otherTimer.count()).isEqualTo(2);
+    }
+
+    private StatementInformation statement(String sql) {
+        var statementInformation = mock(StatementInformation.class);
+        when(statementInformation.getSql()).thenReturn(sql);
+        return statementInformation;
+    }
+}
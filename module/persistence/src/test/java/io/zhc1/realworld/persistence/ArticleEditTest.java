@@ -0,0 +1,80 @@
+package io.zhc1.realworld.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleEditConflictException;
+import io.zhc1.realworld.model.User;
+
+@Import(ExecutedStatements.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@SpringBootTest(properties = "decorator.datasource.p6spy.enable-logging=false")
+@DisplayName("Article Edit - Single Update with Optimistic Locking")
+class ArticleEditTest {
+    @Autowired
+    ExecutedStatements executedStatements;
+
+    @Autowired
+    ArticleRepositoryAdapter articleRepositoryAdapter;
+
+    @Autowired
+    UserJpaRepository userJpaRepository;
+
+    Article article;
+
+    @BeforeEach
+    void setUp() {
+        var author = userJpaRepository.save(new User("edit-author@example.com", "edit-author", "password"));
+        article = articleRepositoryAdapter.save(new Article(author, "edit title", "description", "content"), List.of());
+    }
+
+    @Test
+    @DisplayName("Editing every field of an article should issue a single update")
+    void whenEveryFieldEdited_thenShouldIssueSingleUpdate() {
+        // given
+        var copy = articleRepositoryAdapter.findBySlug(article.getSlug()).orElseThrow();
+        copy.setTitle("edited title");
+        copy.setDescription("edited description");
+        copy.setContent("edited content");
+
+        // when
+        var executions = executedStatements.record(() -> articleRepositoryAdapter.save(copy));
+
+        // then
+        assertThat(executions)
+                .filteredOn(execution -> execution.sql().toLowerCase().startsWith("update"))
+                .hasSize(1);
+        assertThat(articleRepositoryAdapter.findBySlug("edited-title")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Saving an outdated copy of an article should fail instead of overwriting the newer edit")
+    void whenOutdatedCopySaved_thenShouldFail() {
+        // given
+        var first = articleRepositoryAdapter.findBySlug(article.getSlug()).orElseThrow();
+        var second = articleRepositoryAdapter.findBySlug(article.getSlug()).orElseThrow();
+        first.setDescription("first edit");
+        articleRepositoryAdapter.save(first);
+
+        // when
+        second.setContent("second edit");
+
+        // then
+        assertThatThrownBy(() -> articleRepositoryAdapter.save(second))
+                .isInstanceOf(ArticleEditConflictException.class);
+        assertThat(articleRepositoryAdapter.findBySlug(article.getSlug()).orElseThrow())
+                .extracting(Article::getDescription, Article::getContent)
+                .containsExactly("first edit", "content");
+    }
+}
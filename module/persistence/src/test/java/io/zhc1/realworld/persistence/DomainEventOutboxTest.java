@@ -0,0 +1,91 @@
+package io.zhc1.realworld.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleFavorite;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.User;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@SpringBootTest(
+        properties = {
+            "decorator.datasource.p6spy.enable-logging=false",
+            "spring.datasource.url=jdbc:h2:mem:domain-event-outbox-test;MODE=MYSQL",
+            // Note: Events are read by the tests themselves.
+            "realworld.outbox.dispatcher.enabled=false",
+            "realworld.outbox.retention=0s"
+        })
+@DisplayName("Domain Event Outbox - Recording and Reading of Domain Events")
+class DomainEventOutboxTest {
+    @Autowired
+    DomainEventOutbox outbox;
+
+    @Autowired
+    ArticleRepositoryAdapter articleRepositoryAdapter;
+
+    @Autowired
+    ArticleFavoriteRepositoryAdapter articleFavoriteRepositoryAdapter;
+
+    @Autowired
+    UserJpaRepository userJpaRepository;
+
+    @Autowired
+    OutboxEventJpaRepository outboxEventJpaRepository;
+
+    User reader;
+    Article article;
+
+    @BeforeEach
+    void setUp() {
+        var author = userJpaRepository.save(new User("outbox-author@example.com", "outbox-author", "password"));
+        reader = userJpaRepository.save(new User("outbox-reader@example.com", "outbox-reader", "password"));
+        article = articleRepositoryAdapter.save(new Article(author, "outbox title", "d", "c"), List.of());
+    }
+
+    @Test
+    @DisplayName("Events should be read after an id in the order they were recorded")
+    void whenEventsRecorded_thenShouldBeReadInOrder() {
+        // when
+        articleFavoriteRepositoryAdapter.save(new ArticleFavorite(reader, article));
+        articleFavoriteRepositoryAdapter.deleteBy(reader, article);
+
+        // then
+        var events = outbox.findAfter(0, 100);
+        assertThat(events)
+                .extracting(OutboxEvent::getType)
+                .containsExactly(
+                        DomainEvent.Type.ARTICLE_WRITTEN,
+                        DomainEvent.Type.ARTICLE_FAVORITED,
+                        DomainEvent.Type.ARTICLE_UNFAVORITED);
+        assertThat(outbox.findAfter(events.getFirst().getId(), 100))
+                .extracting(OutboxEvent::getType)
+                .containsExactly(DomainEvent.Type.ARTICLE_FAVORITED, DomainEvent.Type.ARTICLE_UNFAVORITED);
+        assertThat(outbox.findLastId()).isEqualTo(events.getLast().getId());
+    }
+
+    @Test
+    @DisplayName("Events should stay after they were read, until they are older than the retention")
+    void whenEventsPurged_thenShouldDeleteEventsOlderThanRetention() {
+        // given
+        var written = outbox.findAfter(0, 100);
+
+        // when
+        var readAgain = outbox.findByIds(written.stream().map(OutboxEvent::getId).toList());
+        var purged = outbox.purge();
+
+        // then
+        assertThat(readAgain).extracting(OutboxEvent::getType).containsExactly(DomainEvent.Type.ARTICLE_WRITTEN);
+        assertThat(purged).isEqualTo(1);
+        assertThat(outboxEventJpaRepository.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package io.zhc1.realworld.persistence;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+/**
+ * Records every round trip to the database made by an action on the calling thread, so work running in the background
+ * at the same time, like the outbox dispatcher, is left out. Import it into a test context to register it with p6spy.
+ */
+class ExecutedStatements extends JdbcEventListener {
+    private final List<Execution> executions = new CopyOnWriteArrayList<>();
+    private volatile Thread recording;
+
+    List<Execution> record(Runnable action) {
+        executions.clear();
+        recording = Thread.currentThread();
+        try {
+            action.run();
+        } finally {
+            recording = null;
+        }
+        return List.copyOf(executions);
+    }
+
+    @Override
+    public void onAfterExecuteQuery(
+            PreparedStatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        add(Kind.QUERY, statementInformation.getSqlWithValues(), e);
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(
+            PreparedStatementInformation statementInformation, long timeElapsedNanos, int rowCount, SQLException e) {
+        add(Kind.UPDATE, statementInformation.getSqlWithValues(), e);
+    }
+
+    @Override
+    public void onAfterExecuteBatch(
+            StatementInformation statementInformation, long timeElapsedNanos, int[] updateCounts, SQLException e) {
+        add(Kind.BATCH, statementInformation.getSql(), e);
+    }
+
+    private void add(Kind kind, String sql, SQLException e) {
+        if (recording == Thread.currentThread() && e == null) {
+            executions.add(new Execution(kind, sql));
+        }
+    }
+
+    record Execution(Kind kind, String sql) {}
+
+    enum Kind {
+        QUERY,
+        UPDATE,
+        BATCH
+    }
+}
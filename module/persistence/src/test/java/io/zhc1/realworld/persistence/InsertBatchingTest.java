@@ -0,0 +1,134 @@
+package io.zhc1.realworld.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleFavorite;
+import io.zhc1.realworld.model.Tag;
+import io.zhc1.realworld.model.User;
+
+@Import(ExecutedStatements.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "decorator.datasource.p6spy.enable-logging=false")
+@DisplayName("Insert Batching - Round Trips of Bulk Writes")
+class InsertBatchingTest {
+    @Autowired
+    ExecutedStatements executedStatements;
+
+    @Autowired
+    ArticleRepositoryAdapter articleRepositoryAdapter;
+
+    @Autowired
+    ArticleJpaRepository articleJpaRepository;
+
+    @Autowired
+    ArticleFavoriteJpaRepository articleFavoriteJpaRepository;
+
+    @Autowired
+    TagJpaRepository tagJpaRepository;
+
+    @Autowired
+    UserJpaRepository userJpaRepository;
+
+    User author;
+    User reader;
+
+    @BeforeAll
+    void setUp() {
+        author = userJpaRepository.save(new User("batch-author@example.com", "batch-author", "password"));
+        reader = userJpaRepository.save(new User("batch-reader@example.com", "batch-reader", "password"));
+
+        // Note: Allocates the first id blocks, so the writes below do not pay for the initial sequence calls.
+        articleRepositoryAdapter.save(new Article(author, "batch warm up", "d", "c"), List.of(new Tag("batch-warm")));
+    }
+
+    @Test
+    @DisplayName("Writing an article should take the same round trips regardless of the number of tags")
+    void whenArticleWrittenWithMoreTags_thenRoundTripsShouldNotGrow() {
+        // given
+        var oneTag = List.of(new Tag("batch-a"));
+        var fiveTags = List.of(
+                new Tag("batch-b"), new Tag("batch-c"), new Tag("batch-d"), new Tag("batch-e"), new Tag("batch-f"));
+
+        // when
+        var withOneTag = executedStatements.record(
+                () -> articleRepositoryAdapter.save(new Article(author, "batch one tag", "d", "c"), oneTag));
+        var withFiveTags = executedStatements.record(
+                () -> articleRepositoryAdapter.save(new Article(author, "batch five tags", "d", "c"), fiveTags));
+
+        // then
+        assertThat(withFiveTags).hasSameSizeAs(withOneTag);
+        assertThat(withFiveTags)
+                .extracting(ExecutedStatements.Execution::kind)
+                .doesNotContain(ExecutedStatements.Kind.UPDATE);
+    }
+
+    @Test
+    @DisplayName("Writing an article with known tags should not read the tags")
+    void whenArticleWrittenWithKnownTags_thenTagsShouldNotBeRead() {
+        // given
+        var knownTags = List.of(new Tag("batch-warm"));
+
+        // when
+        var executions = executedStatements.record(
+                () -> articleRepositoryAdapter.save(new Article(author, "batch known tag", "d", "c"), knownTags));
+
+        // then
+        assertThat(executions)
+                .extracting(ExecutedStatements.Execution::sql)
+                .noneMatch(sql -> sql.contains(" from tag "));
+    }
+
+    @Test
+    @DisplayName("Writing an article with a tag inserted elsewhere should merge the tag rather than fail")
+    void whenArticleWrittenWithTagInsertedElsewhere_thenShouldMergeTag() {
+        // given
+        tagJpaRepository.save(new Tag("batch-elsewhere"));
+        var tags = List.of(new Tag("batch-elsewhere"), new Tag("batch-new"));
+
+        // when
+        var executions = executedStatements.record(
+                () -> articleRepositoryAdapter.save(new Article(author, "batch merged tags", "d", "c"), tags));
+
+        // then
+        assertThat(tagJpaRepository.findAllById(List.of("batch-elsewhere", "batch-new"))).hasSize(2);
+        assertThat(executions)
+                .extracting(ExecutedStatements.Execution::sql)
+                .noneMatch(sql -> sql.contains(" from tag "));
+    }
+
+    @Test
+    @DisplayName("Importing favorites should insert them in a single batch")
+    void whenFavoritesImported_thenShouldBeInsertedInSingleBatch() {
+        // given
+        var articles = new ArrayList<Article>();
+        for (int i = 0; i < 20; i++) {
+            articles.add(new Article(author, "batch favorite " + i, "d", "c"));
+        }
+        var favorites = articleJpaRepository.saveAll(articles).stream()
+                .map(article -> new ArticleFavorite(reader, article))
+                .toList();
+
+        // when
+        var executions = executedStatements.record(() -> articleFavoriteJpaRepository.saveAll(favorites));
+
+        // then
+        assertThat(executions)
+                .filteredOn(execution -> execution.kind() == ExecutedStatements.Kind.BATCH)
+                .hasSize(1);
+        assertThat(executions)
+                .extracting(ExecutedStatements.Execution::kind)
+                .doesNotContain(ExecutedStatements.Kind.UPDATE);
+    }
+}
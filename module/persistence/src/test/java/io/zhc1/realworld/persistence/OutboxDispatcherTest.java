@@ -0,0 +1,185 @@
+package io.zhc1.realworld.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleFavorite;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.User;
+
+@Import(OutboxDispatcherTest.RecordingSubscriber.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@SpringBootTest(
+        properties = {
+            "decorator.datasource.p6spy.enable-logging=false",
+            // Note: A database of its own, so the writes of other cached test contexts do not show up in its events.
+            "spring.datasource.url=jdbc:h2:mem:outbox-dispatcher-test;MODE=MYSQL",
+            "realworld.outbox.initial-backoff=10ms",
+            "realworld.outbox.poll-interval=50ms",
+            "realworld.outbox.max-attempts=3"
+        })
+@DisplayName("Outbox Dispatcher - Delivery of Domain Events")
+class OutboxDispatcherTest {
+    @Autowired
+    RecordingSubscriber subscriber;
+
+    @Autowired
+    ArticleRepositoryAdapter articleRepositoryAdapter;
+
+    @Autowired
+    ArticleFavoriteRepositoryAdapter articleFavoriteRepositoryAdapter;
+
+    @Autowired
+    UserJpaRepository userJpaRepository;
+
+    @Autowired
+    OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Autowired
+    DomainEventOutbox outbox;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    User reader;
+    Article article;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        var author = userJpaRepository.save(new User("outbox-author@example.com", "outbox-author", "password"));
+        reader = userJpaRepository.save(new User("outbox-reader@example.com", "outbox-reader", "password"));
+        article = articleRepositoryAdapter.save(new Article(author, "outbox title", "d", "c"), List.of());
+
+        assertThat(subscriber.next()).extracting(DomainEvent::type).isEqualTo(DomainEvent.Type.ARTICLE_WRITTEN);
+    }
+
+    @Test
+    @DisplayName("Events of the same article should be delivered in the order they were recorded")
+    void whenArticleFavoritedAndUnfavorited_thenShouldDeliverInOrder() throws InterruptedException {
+        // when
+        articleFavoriteRepositoryAdapter.save(new ArticleFavorite(reader, article));
+        articleFavoriteRepositoryAdapter.deleteBy(reader, article);
+
+        // then
+        assertThat(List.of(subscriber.next(), subscriber.next()))
+                .extracting(DomainEvent::type, DomainEvent::articleId, DomainEvent::actorId)
+                .containsExactly(
+                        tuple(DomainEvent.Type.ARTICLE_FAVORITED, article.getId(), reader.getId()),
+                        tuple(DomainEvent.Type.ARTICLE_UNFAVORITED, article.getId(), reader.getId()));
+    }
+
+    @Test
+    @DisplayName("A write that is rolled back should record no event")
+    void whenWriteRolledBack_thenShouldRecordNoEvent() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            articleFavoriteRepositoryAdapter.save(new ArticleFavorite(reader, article));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(outboxEventJpaRepository.findAll())
+                .extracting(OutboxEvent::getType)
+                .doesNotContain(DomainEvent.Type.ARTICLE_FAVORITED);
+    }
+
+    @Test
+    @DisplayName("An event a subscriber failed on should be retried before the later events of its aggregate")
+    void whenSubscriberFails_thenShouldRetryBeforeLaterEvents() throws InterruptedException {
+        // given
+        subscriber.failures.set(2);
+
+        // when
+        articleFavoriteRepositoryAdapter.save(new ArticleFavorite(reader, article));
+        articleFavoriteRepositoryAdapter.deleteBy(reader, article);
+
+        // then
+        assertThat(List.of(subscriber.next(), subscriber.next()))
+                .extracting(DomainEvent::type)
+                .containsExactly(DomainEvent.Type.ARTICLE_FAVORITED, DomainEvent.Type.ARTICLE_UNFAVORITED);
+        assertThat(subscriber.failures).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("An event a subscriber keeps failing on should be given up on and let the next event through")
+    void whenSubscriberKeepsFailing_thenShouldGiveUpAndDeliverLaterEvents() throws InterruptedException {
+        // given
+        subscriber.failures.set(3);
+
+        // when
+        articleFavoriteRepositoryAdapter.save(new ArticleFavorite(reader, article));
+        articleFavoriteRepositoryAdapter.deleteBy(reader, article);
+
+        // then
+        assertThat(subscriber.next()).extracting(DomainEvent::type).isEqualTo(DomainEvent.Type.ARTICLE_UNFAVORITED);
+        assertThat(subscriber.failures).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Every instance should deliver each event to its own subscribers")
+    void whenSeveralInstancesDispatch_thenEachShouldDeliverEveryEvent() throws InterruptedException {
+        // given
+        var otherInstanceEvents = new LinkedBlockingQueue<DomainEvent>();
+        var otherInstance = new OutboxDispatcher(
+                outbox,
+                event -> otherInstanceEvents.add((DomainEvent) event),
+                100,
+                Duration.ofMillis(50),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(1),
+                Duration.ofMillis(10),
+                Duration.ofSeconds(1),
+                3);
+        otherInstance.start();
+
+        try {
+            // when
+            articleFavoriteRepositoryAdapter.save(new ArticleFavorite(reader, article));
+
+            // then
+            assertThat(subscriber.next()).extracting(DomainEvent::type).isEqualTo(DomainEvent.Type.ARTICLE_FAVORITED);
+            assertThat(otherInstanceEvents.poll(5, TimeUnit.SECONDS))
+                    .extracting(DomainEvent::type)
+                    .isEqualTo(DomainEvent.Type.ARTICLE_FAVORITED);
+        } finally {
+            otherInstance.stop();
+        }
+    }
+
+    static class RecordingSubscriber {
+        final BlockingQueue<DomainEvent> delivered = new LinkedBlockingQueue<>();
+        final AtomicInteger failures = new AtomicInteger();
+
+        @EventListener
+        void onDomainEvent(DomainEvent event) {
+            if (failures.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                throw new IllegalStateException("subscriber failed.");
+            }
+            delivered.add(event);
+        }
+
+        DomainEvent next() throws InterruptedException {
+            var event = delivered.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("delivered event").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package io.zhc1.realworld.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleComment;
+import io.zhc1.realworld.model.ArticleFavorite;
+import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.Tag;
+import io.zhc1.realworld.model.User;
+import io.zhc1.realworld.model.UserFollow;
+
+/**
+ * Runs {@code EXPLAIN} for every statement emitted by the {@code *JpaRepository} queries against a seeded H2 database,
+ * and fails when a plan reads a table without an index condition.
+ *
+ * <p>A few queries are expected to read a whole table, by design or because of how the query is written. They list the
+ * tables they may scan, so any other table regressing to a full scan still fails the test.
+ */
+@Import(ExecutedStatements.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "decorator.datasource.p6spy.enable-logging=false")
+@DisplayName("Query Plan - Repository Queries Should Use Indexes")
+class QueryPlanTest {
+    private static final int USERS = 50;
+    private static final int ARTICLES_PER_USER = 4;
+    private static final int TAGS = 10;
+
+    // Note: H2 prints the index used for each table as a comment, e.g. `/* PUBLIC.IDX_NAME: COLUMN = 1 */`.
+    private static final Pattern TABLE_ACCESS =
+            Pattern.compile("\"?PUBLIC\"?\\.\"?(\\w+)\"?(?:\\s+\"?\\w+\"?)?\\s*/\\*\\s*([^*]*?)\\s*\\*/");
+
+    @Autowired
+    ExecutedStatements executedStatements;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    UserJpaRepository userJpaRepository;
+
+    @Autowired
+    UserFollowJpaRepository userFollowJpaRepository;
+
+    @Autowired
+    ArticleJpaRepository articleJpaRepository;
+
+    @Autowired
+    ArticleFavoriteJpaRepository articleFavoriteJpaRepository;
+
+    @Autowired
+    ArticleCommentJpaRepository articleCommentJpaRepository;
+
+    @Autowired
+    TagJpaRepository tagJpaRepository;
+
+    List<User> users;
+    List<Article> articles;
+
+    @BeforeAll
+    void seed() {
+        var tags = new ArrayList<Tag>();
+        for (int i = 0; i < TAGS; i++) {
+            tags.add(new Tag("tag-" + i));
+        }
+        tags = new ArrayList<>(tagJpaRepository.saveAll(tags));
+
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("user-%d@example.com".formatted(i), "user-" + i, "password"));
+        }
+        users = userJpaRepository.saveAll(users);
+
+        articles = new ArrayList<>();
+        for (var author : users) {
+            for (int i = 0; i < ARTICLES_PER_USER; i++) {
+                var article = new Article(author, "%s article %d".formatted(author.getUsername(), i), "d", "c");
+                article.addTag(new ArticleTag(article, tags.get(articles.size() % TAGS)));
+                article.addTag(new ArticleTag(article, tags.get((articles.size() + 1) % TAGS)));
+                articles.add(article);
+            }
+        }
+        articles = articleJpaRepository.saveAll(articles);
+
+        var follows = new ArrayList<UserFollow>();
+        var favorites = new ArrayList<ArticleFavorite>();
+        var comments = new ArrayList<ArticleComment>();
+        for (int i = 0; i < USERS; i++) {
+            for (int j = 1; j <= 5; j++) {
+                follows.add(new UserFollow(users.get(i), users.get((i + j) % USERS)));
+                favorites.add(new ArticleFavorite(users.get(i), articles.get((i * 7 + j) % articles.size())));
+                comments.add(new ArticleComment(articles.get((i * 3 + j) % articles.size()), users.get(i), "comment"));
+            }
+        }
+        userFollowJpaRepository.saveAll(follows);
+        articleFavoriteJpaRepository.saveAll(favorites);
+        articleCommentJpaRepository.saveAll(comments);
+    }
+
+    @Test
+    @DisplayName("User queries should use indexes")
+    void whenUsersQueried_thenShouldUseIndexes() {
+        var user = users.getFirst();
+
+        assertIndexed(() -> userJpaRepository.findById(user.getId()));
+        assertIndexed(() -> userJpaRepository.findByEmail(user.getEmail()));
+        assertIndexed(() -> userJpaRepository.findByUsername(user.getUsername()));
+        assertIndexed(() -> userJpaRepository.findByUsernameIn(
+                users.subList(0, 20).stream().map(User::getUsername).toList()));
+        assertIndexed(() -> userJpaRepository.existsByEmail(user.getEmail()));
+        assertIndexed(() -> userJpaRepository.existsByUsername(user.getUsername()));
+        assertIndexed(() -> userJpaRepository.findProfileVersionByUsername(user.getUsername(), users.get(1).getId()));
+        // Note: An OR across two columns cannot be answered by a single index.
+        assertIndexed(() -> userJpaRepository.existsByEmailOrUsername(user.getEmail(), user.getUsername()), "users");
+    }
+
+    @Test
+    @DisplayName("User follow queries should use indexes")
+    void whenUserFollowsQueried_thenShouldUseIndexes() {
+        var follower = users.getFirst();
+        var following = users.get(1);
+
+        assertIndexed(() -> userFollowJpaRepository.findByFollower(follower));
+        assertIndexed(() -> userFollowJpaRepository.existsByFollowerAndFollowing(follower, following));
+        assertIndexed(
+                () -> userFollowJpaRepository.findFollowingIdsByFollowerAndFollowingIn(follower, users.subList(1, 20)));
+        assertIndexedAndRolledBack(() -> userFollowJpaRepository.deleteByFollowerAndFollowing(follower, following));
+    }
+
+    @Test
+    @DisplayName("Article queries should use indexes")
+    void whenArticlesQueried_thenShouldUseIndexes() {
+        var article = articles.getFirst();
+        var authors = users.subList(0, 5);
+
+        assertIndexed(() -> articleJpaRepository.findBySlug(article.getSlug()));
+        assertIndexed(() -> articleJpaRepository.findAllBySlugIn(
+                articles.subList(0, 20).stream().map(Article::getSlug).toList()));
+        assertIndexed(() -> articleJpaRepository.findVersionBySlug(article.getSlug(), users.get(1).getId()));
+        assertIndexed(() -> articleJpaRepository.existsByTitle(article.getTitle()));
+        assertIndexed(() -> articleJpaRepository.findByAuthorInOrderByCreatedAtDesc(authors, PageRequest.of(0, 20)));
+        assertIndexed(() -> articleJpaRepository.findAll(
+                ArticleSpecifications.hasAuthorName(article.getAuthor().getUsername()), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Article list queries should only scan the tables they are expected to scan")
+    void whenArticlesListed_thenShouldOnlyScanExpectedTables() {
+        // Note: Listing without a filter reads articles in storage order.
+        assertIndexed(
+                () -> articleJpaRepository.findAll(ArticleSpecifications.hasTagName(null), PageRequest.of(0, 20)),
+                "article");
+        assertIndexed(
+                () -> articleJpaRepository.findAll(ArticleSpecifications.hasTagName("tag-1"), PageRequest.of(0, 20)));
+        assertIndexed(() -> articleJpaRepository.findAll(
+                ArticleSpecifications.hasFavoritedUsername("user-1"), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Article favorite queries should use indexes")
+    void whenArticleFavoritesQueried_thenShouldUseIndexes() {
+        var user = users.getFirst();
+        var article = articles.get(1);
+
+        assertIndexed(() -> articleFavoriteJpaRepository.countByArticle(article));
+        assertIndexed(() -> articleFavoriteJpaRepository.countByArticleIn(articles.subList(0, 20)));
+        assertIndexed(() -> articleFavoriteJpaRepository.existsByUserAndArticle(user, article));
+        assertIndexed(
+                () -> articleFavoriteJpaRepository.findArticleIdsByUserAndArticleIn(user, articles.subList(0, 20)));
+        assertIndexedAndRolledBack(() -> articleFavoriteJpaRepository.deleteByUserAndArticle(user, article));
+    }
+
+    @Test
+    @DisplayName("Article comment queries should use indexes")
+    void whenArticleCommentsQueried_thenShouldUseIndexes() {
+        var article = articles.get(4);
+
+        assertIndexed(() -> articleCommentJpaRepository.findByArticleOrderByCreatedAtDesc(article));
+        assertIndexedAndRolledBack(() -> articleCommentJpaRepository.deleteByArticle(article));
+    }
+
+    @Test
+    @DisplayName("Tag queries should only scan the tag table")
+    void whenTagsQueried_thenShouldOnlyScanTagTable() {
+        assertIndexed(() -> tagJpaRepository.findAllById(List.of("tag-1", "tag-2")));
+        // Note: Both queries return every tag by design.
+        assertIndexed(() -> tagJpaRepository.findAll(), "tag");
+        assertIndexed(() -> tagJpaRepository.findAllUsages(), "tag");
+    }
+
+    private void assertIndexedAndRolledBack(Runnable action) {
+        assertIndexed(() -> transactionTemplate.executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        }));
+    }
+
+    private void assertIndexed(Runnable action, String... scannableTables) {
+        var queries = executedStatements.record(action).stream()
+                .filter(execution -> execution.kind() == ExecutedStatements.Kind.QUERY)
+                .map(ExecutedStatements.Execution::sql)
+                .toList();
+        assertThat(queries).as("executed queries").isNotEmpty();
+
+        for (var query : queries) {
+            var plan = jdbcTemplate.queryForObject("explain " + query, String.class);
+            assertThat(scannedTables(plan)).as(plan).isSubsetOf(scannableTables);
+        }
+    }
+
+    private static List<String> scannedTables(String plan) {
+        var scannedTables = new ArrayList<String>();
+        var matcher = TABLE_ACCESS.matcher(plan);
+        while (matcher.find()) {
+            // Note: A table read without any index condition is either `tableScan` or an index walked end to end.
+            if (!matcher.group(2).contains(":")) {
+                scannedTables.add(matcher.group(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return scannedTables;
+    }
+}
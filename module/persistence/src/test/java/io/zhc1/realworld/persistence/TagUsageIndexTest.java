@@ -0,0 +1,114 @@
+package io.zhc1.realworld.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Tag Usage Index - Incremental Popularity Ranking")
+class TagUsageIndexTest {
+    TagJpaRepository tagJpaRepository;
+    TagUsageIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        tagJpaRepository = mock(TagJpaRepository.class);
+        sut = new TagUsageIndex(tagJpaRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Loading should rank tags by article count, then by name")
+    void whenLoaded_thenShouldRankTagsByArticleCountThenName() {
+        // given
+        when(tagJpaRepository.findAllUsages())
+                .thenReturn(List.of(usage("spring", 2), usage("kotlin", 1), usage("java", 1), usage("unused", 0)));
+
+        // when
+        sut.load();
+
+        // then
+        assertThat(sut.popular(10)).containsExactly("spring", "java", "kotlin");
+        assertThat(sut.isKnown("unused")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Loading again should replace the counts with those of the database")
+    void whenLoadedAgain_thenShouldReplaceCountsWithThoseOfDatabase() {
+        // given
+        sut.increment(List.of("java", "java-local"));
+        when(tagJpaRepository.findAllUsages()).thenReturn(List.of(usage("java", 3), usage("kotlin", 2)));
+
+        // when
+        sut.load();
+
+        // then
+        assertThat(sut.popular(10)).containsExactly("java", "kotlin");
+        assertThat(sut.isKnown("java-local")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Incrementing and decrementing should update the ranking")
+    void whenIncrementedAndDecremented_thenShouldUpdateRanking() {
+        // given
+        sut.increment(List.of("java", "spring"));
+        sut.increment(List.of("spring"));
+
+        // when
+        sut.decrement(List.of("java"));
+
+        // then
+        assertThat(sut.popular(10)).containsExactly("spring");
+        assertThat(sut.isKnown("java")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Popular tags should be limited to the requested size")
+    void whenPopularRequested_thenShouldBeLimitedToRequestedSize() {
+        // given
+        sut.increment(List.of("a", "b", "c"));
+
+        // when
+        var popular = sut.popular(2);
+
+        // then
+        assertThat(popular).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("Suggestions should only include used tags starting with the prefix, ranked by usage")
+    void whenSuggested_thenShouldReturnUsedTagsWithPrefixRankedByUsage() {
+        // given
+        sut.increment(List.of("spring", "spock", "sql", "java"));
+        sut.increment(List.of("spring-boot"));
+        sut.increment(List.of("spring-boot", "spock"));
+        sut.decrement(List.of("sql"));
+
+        // when
+        var suggestions = sut.suggest("sp", 10);
+
+        // then
+        assertThat(suggestions).containsExactly("spock", "spring-boot", "spring");
+        assertThat(sut.suggest("spring", 1)).containsExactly("spring-boot");
+        assertThat(sut.suggest("x", 10)).isEmpty();
+    }
+
+    private static TagUsage usage(String name, long articleCount) {
+        return new TagUsage() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long getArticleCount() {
+                return articleCount;
+            }
+        };
+    }
+}
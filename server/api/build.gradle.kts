@@ -11,6 +11,8 @@ dependencies {
 
     implementation(libs.spring.boot.starter.web)
     implementation(libs.spring.boot.starter.oauth2.resource.server)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.cache.caffeine)
 
     // Remove Jakarta Persistence API related warnings
     implementation(libs.jakarta.persistence.api)
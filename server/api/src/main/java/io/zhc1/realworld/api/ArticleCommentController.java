@@ -28,41 +28,46 @@ class ArticleCommentController implements AuthenticationAwareMixin {
     private final UserRelationshipService userRelationshipService;
     private final ArticleService articleService;
     private final ArticleCommentService articleCommentService;
+    private final ParallelLookups parallelLookups;
 
     @PostMapping("/api/articles/{slug}/comments")
     SingleCommentResponse postComment(
             AuthToken commenterToken, @PathVariable String slug, @RequestBody WriteCommentRequest request) {
-        var article = articleService.getArticle(slug);
-        var commenter = userService.getUser(commenterToken.userId());
+        var lookups = parallelLookups.both(
+                () -> articleService.getArticle(slug), () -> userService.getUser(commenterToken.userId()));
         var comment = articleCommentService.write(
-                new ArticleComment(article, commenter, request.comment().body()));
+                new ArticleComment(lookups.first(), lookups.second(), request.comment().body()));
 
         return new SingleCommentResponse(comment);
     }
 
     @GetMapping("/api/articles/{slug}/comments")
     MultipleCommentsResponse getComment(AuthToken readersToken, @PathVariable String slug) {
-        var article = articleService.getArticle(slug);
-        var comments = articleCommentService.getComments(article);
-
         if (this.isAnonymousUser(readersToken)) {
+            var comments = articleCommentService.getComments(articleService.getArticle(slug));
             return new MultipleCommentsResponse(
                     comments.stream().map(ArticleCommentResponse::new).toList());
         }
 
-        var reader = userService.getUser(readersToken.userId());
+        var lookups = parallelLookups.both(
+                () -> articleCommentService.getComments(articleService.getArticle(slug)),
+                () -> userService.getUser(readersToken.userId()));
+        var comments = lookups.first();
+        var reader = lookups.second();
+
+        var commenters = comments.stream().map(ArticleComment::getAuthor).distinct().toList();
+        var followingIds = userRelationshipService.getFollowingIds(reader, commenters);
         return new MultipleCommentsResponse(comments.stream()
-                .map(comment -> new ArticleCommentResponse(
-                        comment, userRelationshipService.isFollowing(reader, comment.getAuthor())))
+                .map(comment -> new ArticleCommentResponse(comment, followingIds.contains(comment.getAuthor().getId())))
                 .toList());
     }
 
     @SuppressWarnings("MVCPathVariableInspection")
     @DeleteMapping("/api/articles/{slug}/comments/{id}")
     void deleteComment(AuthToken commenterToken, @PathVariable("id") int commentId) {
-        var commenter = userService.getUser(commenterToken.userId());
-        var comment = articleCommentService.getComment(commentId);
+        var lookups = parallelLookups.both(
+                () -> userService.getUser(commenterToken.userId()), () -> articleCommentService.getComment(commentId));
 
-        articleCommentService.delete(commenter, comment);
+        articleCommentService.delete(lookups.first(), lookups.second());
     }
 }
@@ -1,10 +1,17 @@
 package io.zhc1.realworld.api;
 
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toList;
-
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.http.HttpServletRequest;
 
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,27 +20,50 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import lombok.RequiredArgsConstructor;
 
 import io.zhc1.realworld.api.request.EditArticleRequest;
 import io.zhc1.realworld.api.request.WriteArticleRequest;
-import io.zhc1.realworld.api.response.ArticleResponse;
-import io.zhc1.realworld.api.response.MultipleArticlesResponse;
 import io.zhc1.realworld.api.response.SingleArticleResponse;
+import io.zhc1.realworld.api.response.StreamingArticlesResponse;
 import io.zhc1.realworld.config.AuthToken;
 import io.zhc1.realworld.mixin.AuthenticationAwareMixin;
 import io.zhc1.realworld.model.Article;
 import io.zhc1.realworld.model.ArticleDetails;
 import io.zhc1.realworld.model.ArticleFacets;
+import io.zhc1.realworld.model.ArticlesChangedEvent;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.service.ArticleService;
+import io.zhc1.realworld.service.UserRelationshipService;
 import io.zhc1.realworld.service.UserService;
 
 @RestController
 @RequiredArgsConstructor
 class ArticleController implements AuthenticationAwareMixin {
+    /**
+     * Note: Lists are versioned in memory, so a list ETag issued by another instance, or before a restart, never
+     * matches.
+     */
+    private static final UUID INSTANCE = UUID.randomUUID();
+
+    /**
+     * Note: Writes of other instances reach this one as domain events, so a list ETag may still match for a moment
+     * after them. It expires after this long at the latest, in case such an event was given up on.
+     */
+    private static final Duration LIST_ETAG_LIFETIME = Duration.ofMinutes(1);
+
     private final UserService userService;
     private final ArticleService articleService;
+    private final UserRelationshipService userRelationshipService;
+    private final ArticleListCache articleListCache;
+    private final ParallelLookups parallelLookups;
+    private final FeedEventStream feedEventStream;
+
+    private final AtomicLong listVersion = new AtomicLong();
 
     @PostMapping("/api/articles")
     SingleArticleResponse postArticle(AuthToken authorsToken, @RequestBody WriteArticleRequest request) {
@@ -52,82 +82,187 @@ class ArticleController implements AuthenticationAwareMixin {
     }
 
     @GetMapping("/api/articles")
-    MultipleArticlesResponse getArticles(
+    ResponseEntity<?> getArticles(
             AuthToken readersToken,
             @RequestParam(value = "tag", required = false) String tag,
             @RequestParam(value = "author", required = false) String author,
             @RequestParam(value = "favorited", required = false) String favorited,
             @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
-            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit) {
+            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit,
+            @RequestParam(value = "slugs", required = false) List<String> slugs,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+        if (slugs != null) {
+            return ResponseEntity.ok(this.getArticlesBySlugs(readersToken, slugs));
+        }
+
         var facets = new ArticleFacets(tag, author, favorited, offset, limit);
 
+        if (articleListCache.isCacheable(facets)) {
+            // Note: A cached page may be older than the list version, so it carries the ETag of its own bytes.
+            if (this.isAnonymousUser(readersToken)) {
+                return articleListCache.get(facets).toResponseEntity();
+            }
+
+            return this.getPersonalizedPage(readersToken, facets, webRequest);
+        }
+
+        if (webRequest.checkNotModified(listETag(readersToken, request))) {
+            return null;
+        }
+
         if (this.isAnonymousUser(readersToken)) {
-            return getArticlesResponse(articleService.getArticles(facets));
+            return ResponseEntity.ok(getArticlesResponse(articleService.getArticles(facets)));
         }
 
         var reader = userService.getUser(readersToken.userId());
-        return this.getArticlesResponse(articleService.getArticles(reader, facets));
+        return ResponseEntity.ok(this.getArticlesResponse(reader, articleService.getArticles(reader, facets)));
     }
 
-    @GetMapping("/api/articles/{slug}")
-    SingleArticleResponse getArticle(AuthToken readersToken, @PathVariable String slug) {
-        var article = articleService.getArticle(slug);
-
+    /**
+     * Specific articles at once, with one query for the articles, one for their favorites counts and, for authenticated
+     * readers, one each for their favorites and follows among them.
+     */
+    private StreamingArticlesResponse getArticlesBySlugs(AuthToken readersToken, List<String> slugs) {
         if (this.isAnonymousUser(readersToken)) {
-            return new SingleArticleResponse(articleService.getArticleDetails(article));
+            return this.getArticlesResponse(articleService.getArticlesBySlugs(slugs));
         }
 
-        var reader = userService.getUser(readersToken.userId());
-        return new SingleArticleResponse(articleService.getArticleDetails(reader, article));
+        var lookups = parallelLookups.both(
+                () -> articleService.getArticlesBySlugs(slugs), () -> userService.getUser(readersToken.userId()));
+        var reader = lookups.second();
+        return this.getArticlesResponse(reader, articleService.personalize(reader, lookups.first()));
     }
 
-    @PutMapping("/api/articles/{slug}")
-    SingleArticleResponse updateArticle(
-            AuthToken authorsToken, @PathVariable String slug, @RequestBody EditArticleRequest request) {
-        var author = userService.getUser(authorsToken.userId());
-        var article = articleService.getArticle(slug);
+    /**
+     * Overlays the reader's {@code favorited} and {@code following} flags on the shared page, with one lookup for each.
+     *
+     * <p>{@code favoritesCount} is left as the shared page has it. After the reader favorites or unfavorites an
+     * article, {@code favorited} is up to date at once, but the count lags by one until the page is refreshed. That
+     * takes the delivery of the favorite's domain event and a reload of the page, usually well under a second, and at
+     * most the refresh interval of {@link ArticleListCache}. Shifting the count by the reader's own favorite would need
+     * to know whether the page was loaded before or after it. Counting the favorites again would cost a query over
+     * every favorite of the page on each request, which is what the shared page saves. The favorite endpoints return
+     * the article with its current count, so the reader sees their own change right away.
+     */
+    private ResponseEntity<?> getPersonalizedPage(AuthToken readersToken, ArticleFacets facets, WebRequest webRequest) {
+        var reader = userService.getUser(readersToken.userId());
+        var page = articleListCache.getPage(facets);
+        var articles = articleService.personalize(reader, page.articles());
+        var followedAuthorIds = this.getFollowedAuthorIds(reader, articles);
 
-        if (request.article().title() != null) {
-            article =
-                    articleService.editTitle(author, article, request.article().title());
+        var favoritedArticleIds = articles.stream()
+                .filter(ArticleDetails::favorited)
+                .map(articleDetails -> articleDetails.article().getId())
+                .sorted()
+                .toList();
+        var eTag = ETags.weak(page.response().eTag(), favoritedArticleIds, new TreeSet<>(followedAuthorIds));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
         }
 
-        if (request.article().description() != null) {
-            article = articleService.editDescription(
-                    author, article, request.article().description());
+        return ResponseEntity.ok(new StreamingArticlesResponse(articles, followedAuthorIds));
+    }
+
+    @GetMapping("/api/articles/{slug}")
+    SingleArticleResponse getArticle(AuthToken readersToken, @PathVariable String slug, WebRequest webRequest) {
+        var version = this.isAnonymousUser(readersToken)
+                ? articleService.getArticleVersion(slug)
+                : articleService.getArticleVersion(readersToken.userId(), slug);
+        if (webRequest.checkNotModified(ETags.weak(slug, version))) {
+            return null;
         }
 
-        if (request.article().body() != null) {
-            article = articleService.editContent(
-                    author, article, request.article().body());
+        if (this.isAnonymousUser(readersToken)) {
+            var article = articleService.getArticle(slug);
+            return new SingleArticleResponse(articleService.getArticleDetails(article));
         }
 
+        var lookups = parallelLookups.both(
+                () -> articleService.getArticle(slug), () -> userService.getUser(readersToken.userId()));
+        var article = lookups.first();
+        var reader = lookups.second();
+
+        var details = parallelLookups.both(
+                () -> articleService.getArticleDetails(article), () -> articleService.isFavorite(reader, article));
+        return new SingleArticleResponse(
+                new ArticleDetails(article, details.first().favoritesCount(), details.second()));
+    }
+
+    @PutMapping("/api/articles/{slug}")
+    SingleArticleResponse updateArticle(
+            AuthToken authorsToken, @PathVariable String slug, @RequestBody EditArticleRequest request) {
+        var lookups = parallelLookups.both(
+                () -> userService.getUser(authorsToken.userId()), () -> articleService.getArticleForEdit(slug));
+        var author = lookups.first();
+        var article = articleService.edit(author, lookups.second(), request.patch());
+
         return new SingleArticleResponse(articleService.getArticleDetails(author, article));
     }
 
     @DeleteMapping("/api/articles/{slug}")
     void deleteArticle(AuthToken authorsToken, @PathVariable String slug) {
-        var author = userService.getUser(authorsToken.userId());
-        var article = articleService.getArticle(slug);
+        var lookups = parallelLookups.both(
+                () -> userService.getUser(authorsToken.userId()), () -> articleService.getArticle(slug));
 
-        articleService.delete(author, article);
+        articleService.delete(lookups.first(), lookups.second());
     }
 
     @GetMapping("/api/articles/feed")
-    MultipleArticlesResponse getArticleFeeds(
+    StreamingArticlesResponse getArticleFeeds(
             AuthToken readersToken, // Must be verified
             @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
-            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit) {
+            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(listETag(readersToken, request))) {
+            return null;
+        }
+
         var reader = userService.getUser(readersToken.userId());
         var facets = new ArticleFacets(offset, limit);
         var articleDetails = articleService.getFeeds(reader, facets);
 
-        return this.getArticlesResponse(articleDetails);
+        return this.getArticlesResponse(reader, articleDetails);
+    }
+
+    @GetMapping(path = "/api/articles/feed/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter getArticleFeedEvents(AuthToken readersToken) {
+        var reader = userService.getUser(readersToken.userId());
+        return feedEventStream.subscribe(reader.getId(), () -> userRelationshipService.getFollowingIds(reader));
+    }
+
+    /**
+     * Lists change with the writes of this instance, announced right after commit, and with those of every instance,
+     * delivered as domain events once the outbox is polled. A write of this instance bumps the version twice, which
+     * does no harm.
+     */
+    @EventListener({ArticlesChangedEvent.class, DomainEvent.class})
+    void onArticlesChanged() {
+        // Note: The version is read before the list, so a list read concurrently is only ever paired with an older one.
+        listVersion.incrementAndGet();
+    }
+
+    private StreamingArticlesResponse getArticlesResponse(List<ArticleDetails> articles) {
+        return new StreamingArticlesResponse(articles);
+    }
+
+    private StreamingArticlesResponse getArticlesResponse(User reader, List<ArticleDetails> articles) {
+        return new StreamingArticlesResponse(articles, this.getFollowedAuthorIds(reader, articles));
+    }
+
+    private Set<UUID> getFollowedAuthorIds(User reader, List<ArticleDetails> articles) {
+        var authors = articles.stream()
+                .map(articleDetails -> articleDetails.article().getAuthor())
+                .distinct()
+                .toList();
+        return userRelationshipService.getFollowingIds(reader, authors);
     }
 
-    private MultipleArticlesResponse getArticlesResponse(List<ArticleDetails> articles) {
-        return articles.stream()
-                .map(ArticleResponse::new)
-                .collect(collectingAndThen(toList(), MultipleArticlesResponse::new));
+    private String listETag(AuthToken readersToken, HttpServletRequest request) {
+        var reader = this.isAnonymousUser(readersToken) ? null : readersToken.userId();
+        long period = System.currentTimeMillis() / LIST_ETAG_LIFETIME.toMillis();
+        return ETags.weak(
+                INSTANCE, listVersion.get(), period, reader, request.getRequestURI(), request.getQueryString());
     }
 }
@@ -0,0 +1,153 @@
+package io.zhc1.realworld.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.zhc1.realworld.api.response.SerializedResponse;
+import io.zhc1.realworld.api.response.StreamingArticlesResponse;
+import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleFacets;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.Tag;
+import io.zhc1.realworld.service.ArticleService;
+import io.zhc1.realworld.service.TagService;
+
+/**
+ * Article list pages all readers share: the first pages of the default size, of all articles and of the popular tags.
+ * Other pages are rarely read often enough to be worth keeping, and would only crowd out these.
+ *
+ * <p>Anonymous readers are served the serialized response as is. Authenticated readers are served the same articles
+ * with their own {@code favorited} and {@code following} flags on top, see {@link ArticleService#personalize}.
+ *
+ * <p>Pages are never evicted on writes. They are refreshed in the background while the previous response keeps being
+ * served, and concurrent misses of the same page wait for a single load, so a hot page never sends more than one list
+ * query to the database at a time. Refreshes are triggered by {@link DomainEvent}s, which are delivered off the
+ * request path, and only the pages an event can change are refreshed:
+ *
+ * <ul>
+ *   <li>an article write, edit or delete refreshes the unfiltered pages and the pages of the article's tags,
+ *   <li>a favorite refreshes the pages showing the article,
+ *   <li>a profile update refreshes the pages showing an article of that author,
+ *   <li>a follow refreshes nothing, as it only changes a feed.
+ * </ul>
+ */
+@Component
+class ArticleListCache {
+    static final int MAX_CACHED_PAGE = 2;
+    static final int CACHED_PAGE_SIZE = 20;
+    static final int CACHED_TAGS = 20;
+
+    private static final Executor REFRESH_EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("article-list-refresh-", 0)
+            .inheritInheritableThreadLocals(false)
+            .factory());
+
+    private final TagService tagService;
+    private final LoadingCache<ArticleFacets, CachedPage> pages;
+
+    @Autowired
+    ArticleListCache(ArticleService articleService, TagService tagService, ObjectMapper objectMapper) {
+        this(articleService, tagService, objectMapper, REFRESH_EXECUTOR);
+    }
+
+    ArticleListCache(
+            ArticleService articleService, TagService tagService, ObjectMapper objectMapper, Executor refreshExecutor) {
+        this.tagService = tagService;
+        // Note: A page no event refreshed, e.g. after an event was given up on, is still refreshed after a while.
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .refreshAfterWrite(Duration.ofSeconds(30))
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .executor(refreshExecutor)
+                .build(facets -> CachedPage.of(objectMapper, articleService.getArticles(facets)));
+    }
+
+    boolean isCacheable(ArticleFacets facets) {
+        return isBlank(facets.author())
+                && isBlank(facets.favorited())
+                && facets.page() <= MAX_CACHED_PAGE
+                && facets.size() == CACHED_PAGE_SIZE
+                && (isBlank(facets.tag()) || isPopular(facets.tag()));
+    }
+
+    /**
+     * Get the serialized response of an article list page.
+     *
+     * @param facets facets of a cacheable page
+     * @return Returns the serialized response, possibly older than the latest write
+     */
+    SerializedResponse get(ArticleFacets facets) {
+        return getPage(facets).response();
+    }
+
+    /**
+     * Get an article list page, with the articles as seen by anonymous readers and their serialized response.
+     *
+     * @param facets facets of a cacheable page
+     * @return Returns the page, possibly older than the latest write
+     */
+    CachedPage getPage(ArticleFacets facets) {
+        if (!isCacheable(facets)) {
+            throw new IllegalArgumentException("facets are not cacheable.");
+        }
+
+        var tag = isBlank(facets.tag()) ? null : facets.tag();
+        return pages.get(new ArticleFacets(tag, null, null, facets.page(), facets.size()));
+    }
+
+    @EventListener
+    void onDomainEvent(DomainEvent event) {
+        for (var entry : pages.asMap().entrySet()) {
+            if (isChangedBy(event, entry.getKey(), entry.getValue())) {
+                pages.refresh(entry.getKey());
+            }
+        }
+    }
+
+    private static boolean isChangedBy(DomainEvent event, ArticleFacets facets, CachedPage page) {
+        return switch (event.type()) {
+            case ARTICLE_WRITTEN, ARTICLE_EDITED, ARTICLE_DELETED ->
+                facets.tag() == null || event.tagNames().contains(facets.tag());
+            case ARTICLE_FAVORITED, ARTICLE_UNFAVORITED -> page.articleIds().contains(event.articleId());
+            case PROFILE_UPDATED -> page.authorIds().contains(event.actorId());
+            case USER_FOLLOWED, USER_UNFOLLOWED -> false;
+        };
+    }
+
+    private boolean isPopular(String tagName) {
+        // Note: Popular tags are ranked in memory, so this does not query the database.
+        return tagService.getPopularTags(CACHED_TAGS).contains(new Tag(tagName));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    record CachedPage(
+            List<ArticleDetails> articles, SerializedResponse response, Set<Integer> articleIds, Set<UUID> authorIds) {
+        static CachedPage of(ObjectMapper objectMapper, List<ArticleDetails> articles) {
+            return new CachedPage(
+                    List.copyOf(articles),
+                    SerializedResponse.of(objectMapper, new StreamingArticlesResponse(articles)),
+                    articles.stream()
+                            .map(articleDetails -> articleDetails.article().getId())
+                            .collect(Collectors.toUnmodifiableSet()),
+                    articles.stream()
+                            .map(articleDetails -> articleDetails.article().getAuthor().getId())
+                            .collect(Collectors.toUnmodifiableSet()));
+        }
+    }
+}
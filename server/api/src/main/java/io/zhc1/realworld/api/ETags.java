@@ -0,0 +1,34 @@
+package io.zhc1.realworld.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Weak entity tags derived from what a response depends on rather than from its bytes, so that a conditional request
+ * can be answered before the response is built.
+ */
+final class ETags {
+    private ETags() {}
+
+    /**
+     * Create a weak entity tag.
+     *
+     * @param parts values the response depends on, where null is allowed
+     * @return Returns a quoted weak entity tag
+     */
+    static String weak(Object... parts) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(Objects.toString(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package io.zhc1.realworld.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.zhc1.realworld.api.response.FeedEventResponse;
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.service.ArticleService;
+
+/**
+ * Pushes a Server-Sent Event to the connected readers whenever an author they follow writes an article, so clients
+ * fetch their feed when it changed instead of polling it.
+ *
+ * <p>Each connection has its own virtual thread sending its events, so a slow client only holds up itself. Events wait
+ * for it in a bounded buffer, and events that do not fit are dropped, as the ones already waiting tell the client to
+ * fetch its feed anyway. When there is nothing to send, a heartbeat comment keeps proxies from closing the connection
+ * and lets a client that went away be noticed.
+ *
+ * <p>The authors a reader follows are loaded once on connect and kept up to date from follow events. The stream is
+ * registered before they are loaded, and the events arriving meanwhile are held back until they are, so no write that
+ * commits while a reader connects goes unnotified. Each event tells the slug and author of the article, loaded once
+ * for all readers and only when one of them follows its author. Events are delivered at least once, so a client may
+ * see the same event id twice.
+ *
+ * <p>Note: Each {@link DomainEvent} is delivered on every instance, so a reader is notified of the writes of all
+ * instances, whichever one it is connected to. Writes made while it was disconnected are not replayed, so it still has
+ * to fetch its feed on reconnect.
+ */
+@Slf4j
+@Component
+class FeedEventStream {
+    private static final ThreadFactory SENDERS = Thread.ofVirtual()
+            .name("feed-event-sender-", 0)
+            .inheritInheritableThreadLocals(false)
+            .factory();
+
+    private final ArticleService articleService;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+
+    FeedEventStream(
+            ArticleService articleService,
+            @Value("${realworld.feed-events.buffer-size:16}") int bufferSize,
+            @Value("${realworld.feed-events.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${realworld.feed-events.timeout:30m}") Duration timeout) {
+        this.articleService = articleService;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Open a stream of the articles written by the authors a reader follows.
+     *
+     * @param readerId id of the reader
+     * @param followingIds loads the ids of the authors the reader follows, called once the stream is registered
+     * @return Returns the emitter of the stream, which the client is expected to reconnect to once it completes
+     */
+    SseEmitter subscribe(UUID readerId, Supplier<Set<UUID>> followingIds) {
+        var subscription = new Subscription(readerId, new SseEmitter(timeout.toMillis()), bufferSize);
+        subscription.emitter.onCompletion(() -> this.close(subscription));
+        subscription.emitter.onTimeout(() -> this.close(subscription));
+        subscription.emitter.onError(e -> this.close(subscription));
+
+        subscriptions.add(subscription);
+        try {
+            subscription.ready(followingIds.get());
+        } catch (RuntimeException e) {
+            subscriptions.remove(subscription);
+            throw e;
+        }
+
+        subscription.sender = SENDERS.newThread(() -> this.send(subscription));
+        subscription.sender.start();
+        return subscription.emitter;
+    }
+
+    @EventListener
+    void onDomainEvent(DomainEvent event) {
+        switch (event.type()) {
+            case ARTICLE_WRITTEN -> this.notifyFollowers(event);
+            case USER_FOLLOWED, USER_UNFOLLOWED -> {
+                var followingId = UUID.fromString(event.aggregateId());
+                for (var subscription : subscriptions) {
+                    if (!subscription.readerId.equals(event.actorId())) {
+                        continue;
+                    }
+                    subscription.whenReady(() -> {
+                        if (event.type() == DomainEvent.Type.USER_FOLLOWED) {
+                            subscription.followingIds.add(followingId);
+                        } else {
+                            subscription.followingIds.remove(followingId);
+                        }
+                    });
+                }
+            }
+            default -> {}
+        }
+    }
+
+    @PreDestroy
+    void completeAll() {
+        for (var subscription : subscriptions) {
+            subscription.emitter.complete();
+            this.close(subscription);
+        }
+    }
+
+    private void notifyFollowers(DomainEvent event) {
+        var candidates = subscriptions.stream()
+                .filter(subscription -> subscription.mayFollow(event.actorId()))
+                .toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Article article;
+        try {
+            article = articleService.getArticle(Integer.parseInt(event.aggregateId()));
+        } catch (NoSuchElementException e) {
+            // Note: Deleted before the event was delivered, so the feed has nothing new to fetch.
+            return;
+        }
+
+        var feedEvent = new FeedEvent(event.sequence(), new FeedEventResponse(event, article));
+        for (var subscription : candidates) {
+            subscription.whenReady(() -> {
+                if (subscription.followingIds.contains(event.actorId()) && !subscription.buffer.offer(feedEvent)) {
+                    log.debug("Dropped feed event {} for slow reader {}.", event.sequence(), subscription.readerId);
+                }
+            });
+        }
+    }
+
+    private void send(Subscription subscription) {
+        try {
+            while (subscriptions.contains(subscription)) {
+                var feedEvent = subscription.buffer.poll(heartbeatInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (feedEvent == null) {
+                    subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+
+                subscription.emitter.send(SseEmitter.event()
+                        .id(Long.toString(feedEvent.sequence()))
+                        .name("article")
+                        .data(feedEvent.data(), MediaType.APPLICATION_JSON));
+            }
+        } catch (InterruptedException e) {
+            // Note: Interrupted by close, the emitter is already done.
+        } catch (IOException | IllegalStateException e) {
+            // Note: The client went away, or the emitter completed while sending.
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscriptions.remove(subscription);
+        }
+    }
+
+    private void close(Subscription subscription) {
+        if (subscriptions.remove(subscription) && subscription.sender != Thread.currentThread()) {
+            subscription.sender.interrupt();
+        }
+    }
+
+    private record FeedEvent(long sequence, FeedEventResponse data) {}
+
+    private static final class Subscription {
+        private final UUID readerId;
+        private final Set<UUID> followingIds = ConcurrentHashMap.newKeySet();
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> buffer;
+
+        /** Changes held back until the authors the reader follows are loaded, then null. Guarded by this. */
+        private volatile List<Runnable> pending = new ArrayList<>();
+
+        private volatile Thread sender;
+
+        private Subscription(UUID readerId, SseEmitter emitter, int bufferSize) {
+            this.readerId = readerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean mayFollow(UUID authorId) {
+            return pending != null || followingIds.contains(authorId);
+        }
+
+        private synchronized void whenReady(Runnable change) {
+            if (pending != null) {
+                pending.add(change);
+            } else {
+                change.run();
+            }
+        }
+
+        private synchronized void ready(Set<UUID> loadedFollowingIds) {
+            followingIds.addAll(loadedFollowingIds);
+            pending.forEach(Runnable::run);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.zhc1.realworld.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.zhc1.realworld.context.RequestContext;
+
+/**
+ * Runs independent lookups of a request at the same time, each on its own virtual thread, so the request waits for the
+ * slowest lookup instead of all of them in turn.
+ *
+ * <p>Lookups are joined the way a structured task scope that shuts down on failure joins its subtasks, which is still a
+ * preview API in Java 21. The first lookup to fail cancels the others and its exception is thrown as is, so a missing
+ * article is still a 404. Lookups that do not complete before the deadline are cancelled, and the request fails with a
+ * {@link TimeoutException} as the cause. Cancelled lookups are interrupted, which also ends their wait for a database
+ * connection, and an interrupted request cancels its lookups.
+ *
+ * <p>The forked threads are bound to the {@link RequestContext} of the caller, so their statements are attributed to
+ * the request, and a requester still reads their own writes.
+ */
+@Component
+class ParallelLookups {
+    private final Duration timeout;
+
+    ParallelLookups(@Value("${realworld.lookups.timeout:5s}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Run two lookups at the same time.
+     *
+     * @param first first lookup
+     * @param second second lookup
+     * @return Returns the results of both lookups
+     */
+    <A, B> Both<A, B> both(Supplier<A> first, Supplier<B> second) {
+        try (var scope = new Scope(System.nanoTime() + timeout.toNanos())) {
+            var firstFork = scope.fork(first);
+            var secondFork = scope.fork(second);
+            scope.join();
+
+            return new Both<>(firstFork.resultNow(), secondFork.resultNow());
+        }
+    }
+
+    record Both<A, B>(A first, B second) {}
+
+    private static final class Scope implements AutoCloseable {
+        private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("lookup-", 0).factory());
+        private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final long deadlineNanos;
+
+        Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        <T> Future<T> fork(Supplier<T> lookup) {
+            var context = RequestContext.current();
+            Future<T> fork = executor.submit(() -> {
+                context.ifPresent(RequestContext::bind);
+                try {
+                    return lookup.get();
+                } catch (RuntimeException | Error e) {
+                    if (failure.compareAndSet(null, e)) {
+                        cancelAll();
+                    }
+                    throw e;
+                } finally {
+                    RequestContext.end();
+                }
+            });
+            forks.add(fork);
+            return fork;
+        }
+
+        void join() {
+            try {
+                for (var fork : forks) {
+                    fork.get(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                }
+            } catch (ExecutionException | CancellationException e) {
+                // Note: A lookup was cancelled only because another one failed, so the failure is already recorded.
+                throwFailure();
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new CompletionException("lookups did not complete in time.", e);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("interrupted while waiting for lookups.");
+            }
+        }
+
+        /**
+         * Note: A lookup blocked in a driver that ignores interrupts is not waited for. It completes in the background
+         * and its result is discarded.
+         */
+        @Override
+        public void close() {
+            cancelAll();
+            executor.shutdownNow();
+        }
+
+        private void cancelAll() {
+            for (var fork : forks) {
+                fork.cancel(true);
+            }
+        }
+
+        private void throwFailure() {
+            switch (failure.get()) {
+                case RuntimeException e -> throw e;
+                case Error e -> throw e;
+                case null, default -> throw new IllegalStateException("lookup failed without an exception.");
+            }
+        }
+    }
+}
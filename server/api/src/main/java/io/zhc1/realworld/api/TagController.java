@@ -1,20 +1,74 @@
 package io.zhc1.realworld.api;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 
+import io.zhc1.realworld.api.response.SerializedResponse;
 import io.zhc1.realworld.api.response.TagsResponse;
+import io.zhc1.realworld.model.NewTagsEvent;
 import io.zhc1.realworld.service.TagService;
 
 @RestController
 @RequiredArgsConstructor
 class TagController {
+    /**
+     * Note: New tags are announced by the instance that wrote them, so the tags written on other instances are only
+     * picked up once the response is rebuilt after this long, and the cached tag list it is built from expired.
+     */
+    private static final Duration ALL_TAGS_MAX_AGE = Duration.ofMinutes(1);
+
     private final TagService tagService;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong allTagsVersion = new AtomicLong();
+    private final AtomicReference<VersionedResponse> allTags = new AtomicReference<>();
 
     @GetMapping("/api/tags")
-    TagsResponse getAllTags() {
-        return new TagsResponse(tagService.getAllTags());
+    ResponseEntity<byte[]> getAllTags() {
+        long version = allTagsVersion.get();
+        var cached = allTags.get();
+
+        if (cached == null || cached.version() != version || cached.isOlderThan(ALL_TAGS_MAX_AGE)) {
+            var response = SerializedResponse.of(objectMapper, new TagsResponse(tagService.getAllTags()));
+            cached = new VersionedResponse(version, response, System.nanoTime());
+            allTags.set(cached);
+        }
+
+        return cached.response().toResponseEntity();
+    }
+
+    @GetMapping(value = "/api/tags", params = "top")
+    TagsResponse getPopularTags(@RequestParam("top") int top) {
+        return new TagsResponse(tagService.getPopularTags(top));
+    }
+
+    @GetMapping("/api/tags/suggest")
+    TagsResponse suggestTags(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", required = false, defaultValue = "10") int limit) {
+        return new TagsResponse(tagService.suggestTags(prefix, limit));
+    }
+
+    @EventListener(NewTagsEvent.class)
+    void onNewTags() {
+        // Note: A response being built concurrently is stamped with the old version and rebuilt on the next read.
+        allTagsVersion.incrementAndGet();
+    }
+
+    private record VersionedResponse(long version, SerializedResponse response, long builtAt) {
+        boolean isOlderThan(Duration maxAge) {
+            return System.nanoTime() - builtAt > maxAge.toNanos();
+        }
     }
 }
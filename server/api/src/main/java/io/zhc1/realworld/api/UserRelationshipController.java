@@ -1,13 +1,19 @@
 package io.zhc1.realworld.api;
 
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 
+import io.zhc1.realworld.api.response.MultipleProfilesResponse;
 import io.zhc1.realworld.api.response.ProfilesResponse;
 import io.zhc1.realworld.config.AuthToken;
 import io.zhc1.realworld.mixin.AuthenticationAwareMixin;
@@ -19,37 +25,66 @@ import io.zhc1.realworld.service.UserService;
 class UserRelationshipController implements AuthenticationAwareMixin {
     private final UserService userService;
     private final UserRelationshipService userRelationshipService;
+    private final ParallelLookups parallelLookups;
+
+    /**
+     * Profiles of several users at once, with one query for the users and one for whom the viewer follows among them.
+     */
+    @GetMapping("/api/profiles")
+    MultipleProfilesResponse getUserProfiles(
+            AuthToken profileViewersToken, @RequestParam("usernames") List<String> targetUsernames) {
+        if (this.isAnonymousUser(profileViewersToken)) {
+            return MultipleProfilesResponse.from(userService.getUsers(targetUsernames), Set.of());
+        }
+
+        var lookups = parallelLookups.both(
+                () -> userService.getUsers(targetUsernames), () -> userService.getUser(profileViewersToken.userId()));
+        var targetUsers = lookups.first();
+        var followingIds = userRelationshipService.getFollowingIds(lookups.second(), targetUsers);
+
+        return MultipleProfilesResponse.from(targetUsers, followingIds);
+    }
 
     @GetMapping("/api/profiles/{username}")
-    ProfilesResponse getUserProfile(AuthToken profileViewersToken, @PathVariable("username") String targetUsername) {
-        var targetUser = userService.getUser(targetUsername);
+    ProfilesResponse getUserProfile(
+            AuthToken profileViewersToken, @PathVariable("username") String targetUsername, WebRequest webRequest) {
+        var version = this.isAnonymousUser(profileViewersToken)
+                ? userService.getProfileVersion(targetUsername)
+                : userService.getProfileVersion(profileViewersToken.userId(), targetUsername);
+        if (webRequest.checkNotModified(ETags.weak(version))) {
+            return null;
+        }
 
         if (this.isAnonymousUser(profileViewersToken)) {
-            return ProfilesResponse.from(targetUser);
+            return ProfilesResponse.from(userService.getUser(targetUsername));
         }
 
-        var viewer = userService.getUser(profileViewersToken.userId());
-        var isFollowing = userRelationshipService.isFollowing(viewer, targetUser);
+        var lookups = parallelLookups.both(
+                () -> userService.getUser(targetUsername), () -> userService.getUser(profileViewersToken.userId()));
+        var targetUser = lookups.first();
+        var isFollowing = userRelationshipService.isFollowing(lookups.second(), targetUser);
 
         return ProfilesResponse.from(targetUser, isFollowing);
     }
 
     @PostMapping("/api/profiles/{username}/follow")
     ProfilesResponse follow(AuthToken followersToken, @PathVariable("username") String targetUsername) {
-        var follower = userService.getUser(followersToken.userId());
-        var following = userService.getUser(targetUsername);
+        var lookups = parallelLookups.both(
+                () -> userService.getUser(followersToken.userId()), () -> userService.getUser(targetUsername));
+        var following = lookups.second();
 
-        userRelationshipService.follow(follower, following);
+        userRelationshipService.follow(lookups.first(), following);
 
         return ProfilesResponse.from(following, true);
     }
 
     @DeleteMapping("/api/profiles/{username}/follow")
     ProfilesResponse unfollow(AuthToken followersToken, @PathVariable("username") String targetUsername) {
-        var follower = userService.getUser(followersToken.userId());
-        var following = userService.getUser(targetUsername);
+        var lookups = parallelLookups.both(
+                () -> userService.getUser(followersToken.userId()), () -> userService.getUser(targetUsername));
+        var following = lookups.second();
 
-        userRelationshipService.unfollow(follower, following);
+        userRelationshipService.unfollow(lookups.first(), following);
 
         return ProfilesResponse.from(following, false);
     }
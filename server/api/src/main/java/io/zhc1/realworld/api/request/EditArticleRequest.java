@@ -1,5 +1,11 @@
 package io.zhc1.realworld.api.request;
 
+import io.zhc1.realworld.model.ArticlePatch;
+
 public record EditArticleRequest(Params article) {
+    public ArticlePatch patch() {
+        return new ArticlePatch(article.title(), article.description(), article.body());
+    }
+
     public record Params(String title, String description, String body) {}
 }
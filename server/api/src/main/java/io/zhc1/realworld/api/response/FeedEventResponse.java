@@ -0,0 +1,16 @@
+package io.zhc1.realworld.api.response;
+
+import java.time.LocalDateTime;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.DomainEvent;
+
+public record FeedEventResponse(String slug, String authorUsername, String[] tagList, LocalDateTime createdAt) {
+    public FeedEventResponse(DomainEvent event, Article article) {
+        this(
+                article.getSlug(),
+                article.getAuthor().getUsername(),
+                event.tagNames().toArray(String[]::new),
+                event.occurredAt());
+    }
+}
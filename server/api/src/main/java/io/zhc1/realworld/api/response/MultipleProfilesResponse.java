@@ -0,0 +1,26 @@
+package io.zhc1.realworld.api.response;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import io.zhc1.realworld.model.User;
+
+public record MultipleProfilesResponse(List<ProfileResponse> profiles, int profilesCount) {
+    public MultipleProfilesResponse {
+        profilesCount = profiles.size();
+    }
+
+    /**
+     * Create the response listing the profiles of the users as seen by one viewer.
+     *
+     * @param users users, in the order to list them
+     * @param followingIds ids of the users the viewer follows, empty for anonymous viewers
+     */
+    public static MultipleProfilesResponse from(List<User> users, Collection<UUID> followingIds) {
+        var profiles = users.stream()
+                .map(user -> ProfileResponse.from(user, followingIds.contains(user.getId())))
+                .toList();
+        return new MultipleProfilesResponse(profiles, profiles.size());
+    }
+}
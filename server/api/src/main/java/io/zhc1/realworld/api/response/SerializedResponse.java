@@ -0,0 +1,50 @@
+package io.zhc1.realworld.api.response;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A JSON response body serialized once, together with a strong ETag derived from its bytes.
+ *
+ * @param body UTF-8 encoded JSON
+ * @param eTag quoted strong entity tag
+ */
+public record SerializedResponse(byte[] body, String eTag) {
+    public static SerializedResponse of(ObjectMapper objectMapper, Object response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new SerializedResponse(body, eTagOf(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Note: Spring answers {@code If-None-Match} with 304 for entities carrying an ETag, without writing the body.
+     *
+     * @return Returns the body as-is with its ETag
+     */
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(body);
+    }
+
+    private static String eTagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
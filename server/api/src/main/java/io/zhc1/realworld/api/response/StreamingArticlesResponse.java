@@ -0,0 +1,82 @@
+package io.zhc1.realworld.api.response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.User;
+
+/**
+ * Same JSON as {@link MultipleArticlesResponse}, but each article is written straight to the response generator.
+ *
+ * <p>No {@link ArticleResponse}, tag array or {@link ProfileResponse} is built per article, and the generator flushes
+ * to the response while the list is being written, instead of after the whole response graph was created.
+ *
+ * @param followedAuthorIds ids of the authors the reader follows, empty for anonymous readers
+ */
+public record StreamingArticlesResponse(List<ArticleDetails> articles, Set<UUID> followedAuthorIds)
+        implements JsonSerializable {
+    public StreamingArticlesResponse(List<ArticleDetails> articles) {
+        this(articles, Collections.emptySet());
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("articles");
+        for (ArticleDetails articleDetails : articles) {
+            writeArticle(articleDetails, gen, serializers);
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("articlesCount", articles.size());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    private void writeArticle(ArticleDetails articleDetails, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        Article article = articleDetails.article();
+
+        gen.writeStartObject();
+        gen.writeStringField("slug", article.getSlug());
+        gen.writeStringField("title", article.getTitle());
+        gen.writeStringField("description", article.getDescription());
+        gen.writeStringField("body", article.getContent());
+
+        gen.writeArrayFieldStart("tagList");
+        for (ArticleTag articleTag : articleDetails.articleTags()) {
+            gen.writeString(articleTag.getTag().getName());
+        }
+        gen.writeEndArray();
+
+        serializers.defaultSerializeField("createdAt", article.getCreatedAt(), gen);
+        serializers.defaultSerializeField("updatedAt", article.getUpdatedAt(), gen);
+        gen.writeBooleanField("favorited", articleDetails.favorited());
+        gen.writeNumberField("favoritesCount", articleDetails.favoritesCount());
+
+        User author = article.getAuthor();
+        gen.writeObjectFieldStart("author");
+        gen.writeStringField("username", author.getUsername());
+        gen.writeStringField("bio", author.getBio());
+        gen.writeStringField("image", author.getImageUrl());
+        gen.writeBooleanField("following", followedAuthorIds.contains(author.getId()));
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+}
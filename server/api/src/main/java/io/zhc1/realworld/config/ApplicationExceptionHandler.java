@@ -1,6 +1,8 @@
 package io.zhc1.realworld.config;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
@@ -12,6 +14,8 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import lombok.extern.slf4j.Slf4j;
 
+import io.zhc1.realworld.model.ArticleEditConflictException;
+
 @Slf4j
 @RestControllerAdvice
 class ApplicationExceptionHandler extends ResponseEntityExceptionHandler {
@@ -27,6 +31,12 @@ class ApplicationExceptionHandler extends ResponseEntityExceptionHandler {
         return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    @ExceptionHandler(ArticleEditConflictException.class)
+    ProblemDetail handle(ArticleEditConflictException e) {
+        log.info(e.getMessage(), e);
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     ProblemDetail handle(AccessDeniedException e) {
         log.info(e.getMessage(), e);
@@ -47,7 +57,29 @@ class ApplicationExceptionHandler extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     ProblemDetail handle(Exception e) {
+        if (isBusy(e)) {
+            log.warn(e.getMessage());
+            return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Please try again later.");
+        }
+
         log.error(e.getMessage(), e);
         return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Please contact the administrator.");
     }
+
+    /**
+     * Connections that were not admitted are reported by the persistence layer as a transient failure, wrapped in
+     * whichever exception the data access framework uses. Lookups that missed their deadline are reported with a
+     * timeout as the cause.
+     *
+     * @param e Exception
+     * @return Returns true if no database connection was available or the lookups timed out
+     */
+    private static boolean isBusy(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
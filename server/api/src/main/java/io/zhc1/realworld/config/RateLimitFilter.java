@@ -0,0 +1,48 @@
+package io.zhc1.realworld.config;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rejects requests of clients that ran out of tokens with 429 and a {@code Retry-After} header. It runs in the security
+ * filter chain right after the bearer token was authenticated, before any controller or database work.
+ *
+ * <p>It is not a bean on purpose, so the servlet container does not also run it in front of the security filter chain.
+ */
+@RequiredArgsConstructor
+class RateLimitFilter extends OncePerRequestFilter {
+    private static final String TOO_MANY_REQUESTS_BODY =
+            """
+            {"type":"about:blank","title":"Too Many Requests","status":429,"detail":"Please slow down."}""";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var wait = rateLimiter.tryAcquire(request, SecurityContextHolder.getContext().getAuthentication());
+        if (wait.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Note: Retry-After only takes whole seconds, so the wait is rounded up rather than inviting an early retry.
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+    }
+}
@@ -0,0 +1,136 @@
+package io.zhc1.realworld.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token buckets per client, keyed by the user id of authenticated requests and by the client address otherwise.
+ *
+ * <p>Each client has one bucket per {@link Budget}, so a burst of cheap reads does not use up the budget of logins and
+ * article writes, and the other way around. Buckets live in a bounded map and are dropped once their client is idle
+ * for longer than it takes to refill them, so a dropped bucket would have been full anyway.
+ *
+ * <p>Behind a load balancer, the client address is taken from the {@code X-Forwarded-For} header, as
+ * {@code server.forward-headers-strategy} is {@code native}. Tomcat only trusts the header when the request comes from
+ * one of {@code server.tomcat.remoteip.internal-proxies}, which are the private and loopback addresses by default, so a
+ * client cannot pick its own bucket. Set them to the addresses of the load balancers if those are public.
+ */
+@Component
+@ConditionalOnProperty(name = "realworld.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+class RateLimiter {
+    private final Map<Budget, Limit> limits = new EnumMap<>(Budget.class);
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    RateLimiter(
+            @Value("${realworld.rate-limit.expensive.capacity:20}") int expensiveCapacity,
+            @Value("${realworld.rate-limit.expensive.refill-period:3s}") Duration expensiveRefillPeriod,
+            @Value("${realworld.rate-limit.standard.capacity:200}") int standardCapacity,
+            @Value("${realworld.rate-limit.standard.refill-period:10ms}") Duration standardRefillPeriod,
+            @Value("${realworld.rate-limit.max-clients:100000}") long maxClients,
+            MeterRegistry meterRegistry) {
+        this(
+                expensiveCapacity,
+                expensiveRefillPeriod,
+                standardCapacity,
+                standardRefillPeriod,
+                maxClients,
+                meterRegistry,
+                System::nanoTime);
+    }
+
+    RateLimiter(
+            int expensiveCapacity,
+            Duration expensiveRefillPeriod,
+            int standardCapacity,
+            Duration standardRefillPeriod,
+            long maxClients,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        limits.put(
+                Budget.EXPENSIVE,
+                new Limit(Budget.EXPENSIVE, expensiveCapacity, expensiveRefillPeriod, maxClients, meterRegistry));
+        limits.put(
+                Budget.STANDARD,
+                new Limit(Budget.STANDARD, standardCapacity, standardRefillPeriod, maxClients, meterRegistry));
+    }
+
+    /**
+     * Take a token from the client's bucket for the request.
+     *
+     * @param request request to admit
+     * @param authentication authentication of the request, if any
+     * @return Returns zero if the request is admitted, otherwise how long the client should wait before retrying
+     */
+    Duration tryAcquire(HttpServletRequest request, Authentication authentication) {
+        var budget = Budget.of(request);
+        var limit = limits.get(budget);
+        var client = authentication instanceof AuthToken authToken
+                ? "user:" + authToken.userId()
+                : "address:" + request.getRemoteAddr();
+
+        long now = nanoTime.getAsLong();
+        long waitNanos = limit.buckets()
+                .get(client, key -> new TokenBucket(limit.capacity(), limit.refillPeriod(), now))
+                .tryTake(now);
+        if (waitNanos > 0) {
+            limit.rejections().increment();
+        }
+        return Duration.ofNanos(waitNanos);
+    }
+
+    enum Budget {
+        /** Logins and signups, which hash a password, and article writes. */
+        EXPENSIVE,
+        /** Everything else, mostly cheap reads. */
+        STANDARD;
+
+        static Budget of(HttpServletRequest request) {
+            var method = HttpMethod.valueOf(request.getMethod());
+            var path = request.getRequestURI().substring(request.getContextPath().length());
+
+            if (method == HttpMethod.POST && (path.equals("/api/users") || path.equals("/api/users/login"))) {
+                return EXPENSIVE;
+            }
+            if (method != HttpMethod.GET && method != HttpMethod.HEAD && path.startsWith("/api/articles")) {
+                return EXPENSIVE;
+            }
+            return STANDARD;
+        }
+    }
+
+    private record Limit(int capacity, Duration refillPeriod, Cache<String, TokenBucket> buckets, Counter rejections) {
+        Limit(Budget budget, int capacity, Duration refillPeriod, long maxClients, MeterRegistry meterRegistry) {
+            this(
+                    capacity,
+                    refillPeriod,
+                    Caffeine.newBuilder()
+                            .maximumSize(maxClients)
+                            .expireAfterAccess(refillPeriod.multipliedBy(capacity))
+                            .build(),
+                    Counter.builder("realworld.rate-limit.rejected")
+                            .description("Number of requests rejected by the rate limiter")
+                            .tag("budget", budget.name().toLowerCase(Locale.ROOT))
+                            .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.zhc1.realworld.config;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.UUID;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+import io.zhc1.realworld.context.RequestContext;
+
+/**
+ * Binds the {@link RequestContext} for each request. It is registered after the security filter chain, so the
+ * requester is already authenticated.
+ *
+ * <p>The SQL statements and connections counted in the context are reported in the {@code Server-Timing} header, e.g.
+ * {@code sql;desc="statements=3 connections=1";dur=1.250}, and recorded per endpoint as metrics. The header is written
+ * when the response is committed, so statements executed while the body is written are only found in the metrics.
+ */
+@Component
+@RequiredArgsConstructor
+class RequestContextBindingFilter extends OncePerRequestFilter {
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var context = RequestContext.begin(requesterId());
+        var serverTimingResponse = new ServerTimingResponse(response, context);
+        try {
+            filterChain.doFilter(request, serverTimingResponse);
+        } finally {
+            serverTimingResponse.writeServerTiming();
+            record(request, context);
+            RequestContext.end();
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestContext context) {
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var method = request.getMethod();
+        var endpoint = uri == null ? "UNKNOWN" : uri.toString();
+
+        DistributionSummary.builder("realworld.request.sql.statements")
+                .description("Number of SQL statements executed per request")
+                .tags("method", method, "uri", endpoint)
+                .register(meterRegistry)
+                .record(context.statementCount());
+        DistributionSummary.builder("realworld.request.sql.connections")
+                .description("Number of database connections acquired per request")
+                .tags("method", method, "uri", endpoint)
+                .register(meterRegistry)
+                .record(context.connectionCount());
+    }
+
+    private static UUID requesterId() {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof AuthToken authToken) {
+            return authToken.userId();
+        }
+        return null;
+    }
+
+    private static class ServerTimingResponse extends OnCommittedResponseWrapper {
+        private final RequestContext context;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, RequestContext context) {
+            super(response);
+            this.context = context;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeServerTiming();
+        }
+
+        void writeServerTiming() {
+            if (written || getResponse().isCommitted()) {
+                return;
+            }
+            written = true;
+
+            var duration = context.statementTime().toNanos() / 1_000_000.0;
+            setHeader(
+                    SERVER_TIMING_HEADER,
+                    String.format(
+                            Locale.ROOT,
+                            "sql;desc=\"statements=%d connections=%d\";dur=%.3f",
+                            context.statementCount(),
+                            context.connectionCount(),
+                            duration));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.zhc1.realworld.config;
+
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+import io.zhc1.realworld.service.ArticleService;
+import io.zhc1.realworld.service.SingleFlight;
+import io.zhc1.realworld.service.UserService;
+
+/**
+ * Reports how many reads were coalesced by the services, as the number of loads that ran and of callers that joined a
+ * load in flight, and the share of callers that joined. The meters read the counters kept by the services themselves,
+ * so the services do not depend on the metrics library.
+ */
+@Component
+@RequiredArgsConstructor
+class SingleFlightMetrics implements MeterBinder {
+    private final ArticleService articleService;
+    private final UserService userService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Stream.concat(articleService.singleFlights().stream(), userService.singleFlights().stream())
+                .forEach(singleFlight -> bindTo(registry, singleFlight));
+    }
+
+    private static void bindTo(MeterRegistry registry, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("realworld.single-flight.calls", singleFlight, SingleFlight::loads)
+                .description("Number of reads that ran their own load")
+                .tags("name", singleFlight.name(), "outcome", "load")
+                .register(registry);
+        FunctionCounter.builder("realworld.single-flight.calls", singleFlight, SingleFlight::joins)
+                .description("Number of reads that joined a load in flight")
+                .tags("name", singleFlight.name(), "outcome", "join")
+                .register(registry);
+        Gauge.builder("realworld.single-flight.coalescing.ratio", singleFlight, SingleFlightMetrics::coalescingRatio)
+                .description("Share of coalesced reads that joined a load in flight instead of running their own")
+                .tag("name", singleFlight.name())
+                .register(registry);
+    }
+
+    private static double coalescingRatio(SingleFlight<?, ?> singleFlight) {
+        long joins = singleFlight.joins();
+        long calls = singleFlight.loads() + joins;
+        return calls == 0 ? 0 : (double) joins / calls;
+    }
+}
@@ -0,0 +1,59 @@
+package io.zhc1.realworld.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket whose whole state is a single timestamp, so taking a token is one compare-and-set without a lock.
+ *
+ * <p>Instead of counting tokens, the bucket tracks when it will be full again. Every token taken moves that time one
+ * refill period further, and a token can be taken as long as that time is less than a full bucket ahead of now. This is
+ * the same as counting tokens refilled at a steady rate, without a refill task or a second field to keep consistent.
+ */
+final class TokenBucket {
+    private final long refillNanos;
+    private final long capacityNanos;
+
+    private final AtomicLong fullAt;
+
+    /**
+     * Create a full bucket.
+     *
+     * @param capacity maximum number of tokens, i.e. the largest burst
+     * @param refillPeriod time to add one token
+     * @param nowNanos current time in nanoseconds
+     */
+    TokenBucket(int capacity, Duration refillPeriod, long nowNanos) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1.");
+        }
+        if (refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("refill period must be positive.");
+        }
+
+        this.refillNanos = refillPeriod.toNanos();
+        this.capacityNanos = capacity * refillNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take a token if one is available.
+     *
+     * @param nowNanos current time in nanoseconds
+     * @return Returns zero if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryTake(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + refillNanos;
+            long waitNanos = next - nowNanos - capacityNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,17 +1,44 @@
 package io.zhc1.realworld;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import jakarta.persistence.EntityManagerFactory;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
 
 @SpringBootTest
 @DisplayName("RealWorld Application - Spring Context Initialization")
 public class RealWorldApplicationTest {
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    Environment environment;
+
     @Test
     @DisplayName("When application starts, then Spring context should load successfully")
     void contextLoads() {
         assertTrue(true);
     }
+
+    @Test
+    @DisplayName("When application starts, then inserts should be batched as the persistence module configures")
+    void insertBatchingApplies() {
+        var properties = entityManagerFactory.getProperties();
+
+        assertEquals("50", String.valueOf(properties.get("hibernate.jdbc.batch_size")));
+        assertEquals("true", String.valueOf(properties.get("hibernate.order_inserts")));
+        assertEquals("true", String.valueOf(properties.get("hibernate.order_updates")));
+    }
+
+    @Test
+    @DisplayName("When application starts, then the routing data source should be left undecorated")
+    void routingDataSourceIsNotDecorated() {
+        assertEquals("routingDataSource", environment.getProperty("decorator.datasource.exclude-beans"));
+    }
 }
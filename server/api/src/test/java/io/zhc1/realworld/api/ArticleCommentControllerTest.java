@@ -137,6 +137,26 @@ class ArticleCommentControllerTest {
                 .andExpect(jsonPath("$.comments.length()").value(2));
     }
 
+    @Test
+    @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+    @DisplayName("GET /api/articles/{slug}/comments should load comments in a fixed number of queries")
+    void whenGetCommentsOfSeveralCommenters_thenShouldStayWithinQueryBudget() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            var registry = new UserRegistry("commenter" + i + "@example.com", "commenter" + i, "password123");
+            commentService.write(new ArticleComment(testArticle, userService.signup(registry), "Comment " + i));
+        }
+
+        mockMvc.perform(get("/api/articles/" + testArticle.getSlug() + "/comments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(5))
+                .andExpect(SqlStatementBudget.maxQueries(8));
+
+        mockMvc.perform(get("/api/articles/" + testArticle.getSlug() + "/comments").header("Authorization", testToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(5))
+                .andExpect(SqlStatementBudget.maxQueries(10));
+    }
+
     @Test
     @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
     @DisplayName("GET /api/articles/{slug}/comments should return empty array when no comments")
@@ -1,13 +1,22 @@
 package io.zhc1.realworld.api;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,16 +24,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
 import io.zhc1.realworld.config.AuthTokenProvider;
 import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.DomainEvent;
 import io.zhc1.realworld.model.Tag;
 import io.zhc1.realworld.model.User;
 import io.zhc1.realworld.model.UserRegistry;
 import io.zhc1.realworld.service.ArticleService;
+import io.zhc1.realworld.service.UserRelationshipService;
 import io.zhc1.realworld.service.UserService;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -42,9 +55,15 @@ class ArticleControllerTest {
     @Autowired
     ArticleService articleService;
 
+    @Autowired
+    UserRelationshipService userRelationshipService;
+
     @Autowired
     AuthTokenProvider authTokenProvider;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     User testUser;
     String testToken;
     Article testArticle;
@@ -130,6 +149,37 @@ class ArticleControllerTest {
                 .andExpect(jsonPath("$.articles").isArray());
     }
 
+    @Test
+    @DisplayName("GET /api/articles with slugs should return the requested articles in a fixed number of queries")
+    void whenGetArticlesBySlugs_thenShouldReturnRequestedArticles() throws Exception {
+        var reader = userService.signup(new UserRegistry("reader@example.com", "reader", "password123"));
+        var readersToken = "Token " + authTokenProvider.createAuthToken(reader);
+        var otherArticle = articleService.write(new Article(testUser, "Other Article", "d", "b"), Set.of());
+        articleService.favorite(reader, testArticle);
+        userRelationshipService.follow(reader, testUser);
+
+        mockMvc.perform(get("/api/articles")
+                        .param("slugs", otherArticle.getSlug() + ",unknown-article," + testArticle.getSlug())
+                        .header("Authorization", readersToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articlesCount").value(2))
+                .andExpect(jsonPath("$.articles[0].slug").value(otherArticle.getSlug()))
+                .andExpect(jsonPath("$.articles[0].favorited").value(false))
+                .andExpect(jsonPath("$.articles[1].slug").value(testArticle.getSlug()))
+                .andExpect(jsonPath("$.articles[1].favorited").value(true))
+                .andExpect(jsonPath("$.articles[1].favoritesCount").value(1))
+                .andExpect(jsonPath("$.articles[1].author.following").value(true))
+                .andExpect(SqlStatementBudget.maxQueries(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles with more than 50 slugs should return 400")
+    void whenGetArticlesByTooManySlugs_thenShouldReturn400() throws Exception {
+        var slugs = String.join(",", Collections.nCopies(51, testArticle.getSlug()));
+
+        mockMvc.perform(get("/api/articles").param("slugs", slugs)).andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/articles/{slug} should return article by slug")
     void whenGetArticleBySlug_thenShouldReturnArticle() throws Exception {
@@ -137,13 +187,133 @@ class ArticleControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.article.slug").value(testArticle.getSlug()))
                 .andExpect(jsonPath("$.article.description").value("Test Description"))
-                .andExpect(jsonPath("$.article.body").value("Test Body"));
+                .andExpect(jsonPath("$.article.body").value("Test Body"))
+                .andExpect(SqlStatementBudget.maxQueries(6))
+                .andExpect(SqlStatementBudget.maxConnections(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles/{slug} should return 304 without loading the article when the ETag matches")
+    void whenGetArticleWithMatchingETag_thenShouldReturn304() throws Exception {
+        var eTag = mockMvc.perform(get("/api/articles/" + testArticle.getSlug()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/articles/" + testArticle.getSlug()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(SqlStatementBudget.maxQueries(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles/{slug} should return 200 when the article was favorited since the ETag")
+    void whenGetArticleFavoritedSinceETag_thenShouldReturn200() throws Exception {
+        var eTag = mockMvc.perform(get("/api/articles/" + testArticle.getSlug()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        articleService.favorite(testUser, testArticle);
+
+        mockMvc.perform(get("/api/articles/" + testArticle.getSlug()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.article.favoritesCount").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles by author should return 304 until an article is written")
+    void whenGetArticlesWithMatchingETag_thenShouldReturn304UntilArticleWritten() throws Exception {
+        var eTag = mockMvc.perform(get("/api/articles")
+                        .param("author", testUser.getUsername())
+                        .header("Authorization", testToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/articles")
+                        .param("author", testUser.getUsername())
+                        .header("Authorization", testToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(SqlStatementBudget.maxQueries(0));
+
+        articleService.write(new Article(testUser, "Another Article", "Description", "Body"), Set.of());
+
+        mockMvc.perform(get("/api/articles")
+                        .param("author", testUser.getUsername())
+                        .header("Authorization", testToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articlesCount").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles by author should return 200 once a write of another instance is delivered")
+    void whenDomainEventDelivered_thenGetArticlesWithOldETagShouldReturn200() throws Exception {
+        var eTag = mockMvc.perform(get("/api/articles")
+                        .param("author", testUser.getUsername())
+                        .header("Authorization", testToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        eventPublisher.publishEvent(new DomainEvent(
+                1,
+                DomainEvent.Type.ARTICLE_FAVORITED,
+                testArticle.getId().toString(),
+                UUID.randomUUID(),
+                List.of(),
+                LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/articles")
+                        .param("author", testUser.getUsername())
+                        .header("Authorization", testToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/articles should serve anonymous readers from the cached page")
+    void whenAnonymousGetArticlesTwice_thenShouldServeCachedPage() throws Exception {
+        mockMvc.perform(get("/api/articles")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/articles"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.articles[0].slug").value(testArticle.getSlug()))
+                .andExpect(SqlStatementBudget.maxQueries(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles should overlay the reader's favorites and follows on the cached page")
+    void whenAuthenticatedGetArticles_thenShouldOverlayCachedPage() throws Exception {
+        var reader = userService.signup(new UserRegistry("reader@example.com", "reader", "password123"));
+        var readersToken = "Token " + authTokenProvider.createAuthToken(reader);
+        articleService.favorite(reader, testArticle);
+        userRelationshipService.follow(reader, testUser);
+        mockMvc.perform(get("/api/articles")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/articles").header("Authorization", readersToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articles[0].favorited").value(true))
+                .andExpect(jsonPath("$.articles[0].author.following").value(true))
+                .andExpect(SqlStatementBudget.maxQueries(3));
+
+        mockMvc.perform(get("/api/articles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articles[0].favorited").value(false))
+                .andExpect(jsonPath("$.articles[0].author.following").value(false));
     }
 
     @Test
     @DisplayName("GET /api/articles/{slug} should return 404 for non-existent article")
     void whenGetNonExistentArticle_thenShouldReturn404() throws Exception {
-        mockMvc.perform(get("/api/articles/non-existent-slug")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/articles/non-existent-slug"))
+                .andExpect(status().isNotFound())
+                .andExpect(SqlStatementBudget.maxQueries(1));
     }
 
     @Test
@@ -246,4 +416,51 @@ class ArticleControllerTest {
                 .andExpect(jsonPath("$.articles").isArray())
                 .andExpect(jsonPath("$.articlesCount").exists());
     }
+
+    @Test
+    @DisplayName("GET /api/articles/feed should load a page of articles in a fixed number of queries")
+    void whenGetFeedOfSeveralArticles_thenShouldStayWithinQueryBudget() throws Exception {
+        var reader = userService.signup(new UserRegistry("reader@example.com", "reader", "password123"));
+        var readersToken = "Token " + authTokenProvider.createAuthToken(reader);
+        userRelationshipService.follow(reader, testUser);
+        for (int i = 0; i < 5; i++) {
+            var article = new Article(testUser, "Feed Article " + i, "Description", "Body");
+            articleService.write(article, Set.of(new Tag("feed-" + i), new Tag("java")));
+        }
+        articleService.favorite(reader, testArticle);
+
+        mockMvc.perform(get("/api/articles/feed").header("Authorization", readersToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articlesCount").value(6))
+                .andExpect(jsonPath("$.articles[5].favorited").value(true))
+                .andExpect(jsonPath("$.articles[5].author.following").value(true))
+                .andExpect(SqlStatementBudget.maxQueries(11));
+    }
+
+    @Test
+    @DisplayName("GET /api/articles/feed/events should push an event when a followed author writes an article")
+    void whenFollowedAuthorWritesArticle_thenShouldPushFeedEvent() throws Exception {
+        var reader = userService.signup(new UserRegistry("reader@example.com", "reader", "password123"));
+        var readersToken = "Token " + authTokenProvider.createAuthToken(reader);
+        var stranger = userService.signup(new UserRegistry("stranger@example.com", "stranger", "password123"));
+        userRelationshipService.follow(reader, testUser);
+
+        var result = mockMvc.perform(get("/api/articles/feed/events").header("Authorization", readersToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        articleService.write(new Article(stranger, "Unfollowed Article", "d", "b"), Set.of(new Tag("unfollowed")));
+        var followed =
+                articleService.write(new Article(testUser, "Followed Article", "d", "b"), Set.of(new Tag("followed")));
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.getResponse().getContentAsString().contains("\"followed\"") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        var events = result.getResponse().getContentAsString();
+        assertTrue(events.contains("event:article"), events);
+        assertTrue(events.contains("\"followed\""), events);
+        assertTrue(events.contains("\"slug\":\"" + followed.getSlug() + "\""), events);
+        assertTrue(events.contains("\"authorUsername\":\"" + testUser.getUsername() + "\""), events);
+        assertFalse(events.contains("unfollowed"), events);
+    }
 }
@@ -0,0 +1,167 @@
+package io.zhc1.realworld.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleFacets;
+import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.DomainEvent;
+import io.zhc1.realworld.model.Tag;
+import io.zhc1.realworld.model.User;
+import io.zhc1.realworld.service.ArticleService;
+import io.zhc1.realworld.service.TagService;
+
+@DisplayName("Article List Cache - Serialized Pages for Anonymous Readers")
+class ArticleListCacheTest {
+    static final ArticleFacets FIRST_PAGE = new ArticleFacets(0, 20);
+    static final ArticleFacets JAVA_PAGE = new ArticleFacets("java", null, null, 0, 20);
+    static final ArticleFacets KOTLIN_PAGE = new ArticleFacets("kotlin", null, null, 0, 20);
+
+    ArticleService articleService;
+    TagService tagService;
+    ArticleListCache sut;
+
+    User author;
+    Article javaArticle;
+
+    @BeforeEach
+    void setUp() {
+        articleService = mock(ArticleService.class);
+        tagService = mock(TagService.class);
+        var objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Note: Refreshes run on the calling thread, so their effect is visible as soon as the event is handled.
+        sut = new ArticleListCache(articleService, tagService, objectMapper, Runnable::run);
+
+        author = new User("author@example.com", "author", "password");
+        ReflectionTestUtils.setField(author, "id", UUID.randomUUID());
+        javaArticle = article(1, "java");
+
+        when(articleService.getArticles(FIRST_PAGE)).thenReturn(List.of(details(javaArticle)));
+        when(articleService.getArticles(JAVA_PAGE)).thenReturn(List.of(details(javaArticle)));
+        when(articleService.getArticles(KOTLIN_PAGE)).thenReturn(List.of());
+        when(tagService.getPopularTags(ArticleListCache.CACHED_TAGS))
+                .thenReturn(List.of(new Tag("java"), new Tag("kotlin")));
+    }
+
+    @Test
+    @DisplayName("When the same page is read twice, then should load it once")
+    void whenSamePageReadTwice_thenShouldLoadOnce() {
+        // when
+        var first = sut.get(FIRST_PAGE);
+        var second = sut.get(new ArticleFacets(" ", "", null, 0, 20));
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(articleService, times(1)).getArticles(any(ArticleFacets.class));
+    }
+
+    @Test
+    @DisplayName("When facets filter by author or favorited, then should not be cacheable")
+    void whenFacetsFilterByAuthorOrFavorited_thenShouldNotBeCacheable() {
+        // given
+        var byAuthor = new ArticleFacets(null, "author", null, 0, 20);
+        var byFavorited = new ArticleFacets(null, null, "reader", 0, 20);
+
+        // when & then
+        assertThat(sut.isCacheable(byAuthor)).isFalse();
+        assertThat(sut.isCacheable(byFavorited)).isFalse();
+        assertThatThrownBy(() -> sut.get(byAuthor)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("When facets ask for an unpopular tag, a later page or another size, then should not be cacheable")
+    void whenFacetsAskForUnpopularTagOrLaterPageOrOtherSize_thenShouldNotBeCacheable() {
+        // given
+        var byUnpopularTag = new ArticleFacets("cobol", null, null, 0, 20);
+        var laterPage = new ArticleFacets(ArticleListCache.MAX_CACHED_PAGE + 1, 20);
+        var otherSize = new ArticleFacets(0, 10);
+
+        // when & then
+        assertThat(sut.isCacheable(JAVA_PAGE)).isTrue();
+        assertThat(sut.isCacheable(byUnpopularTag)).isFalse();
+        assertThat(sut.isCacheable(laterPage)).isFalse();
+        assertThat(sut.isCacheable(otherSize)).isFalse();
+    }
+
+    @Test
+    @DisplayName("When an article is written, then should refresh only the unfiltered pages and the pages of its tags")
+    void whenArticleWritten_thenShouldRefreshUnfilteredAndTagPages() {
+        // given
+        sut.get(FIRST_PAGE);
+        sut.get(JAVA_PAGE);
+        sut.get(KOTLIN_PAGE);
+
+        // when
+        sut.onDomainEvent(event(DomainEvent.Type.ARTICLE_WRITTEN, 2, List.of("java")));
+
+        // then
+        verify(articleService, times(2)).getArticles(FIRST_PAGE);
+        verify(articleService, times(2)).getArticles(JAVA_PAGE);
+        verify(articleService, times(1)).getArticles(KOTLIN_PAGE);
+    }
+
+    @Test
+    @DisplayName("When an article is favorited, then should refresh only the pages showing it")
+    void whenArticleFavorited_thenShouldRefreshPagesShowingIt() {
+        // given
+        sut.get(FIRST_PAGE);
+        sut.get(KOTLIN_PAGE);
+
+        // when
+        sut.onDomainEvent(event(DomainEvent.Type.ARTICLE_FAVORITED, javaArticle.getId(), List.of()));
+
+        // then
+        verify(articleService, times(2)).getArticles(FIRST_PAGE);
+        verify(articleService, times(1)).getArticles(KOTLIN_PAGE);
+    }
+
+    @Test
+    @DisplayName("When a user follows another, then should refresh nothing")
+    void whenUserFollows_thenShouldRefreshNothing() {
+        // given
+        sut.get(FIRST_PAGE);
+
+        // when
+        sut.onDomainEvent(event(DomainEvent.Type.USER_FOLLOWED, author.getId(), List.of()));
+
+        // then
+        verify(articleService, times(1)).getArticles(FIRST_PAGE);
+    }
+
+    private Article article(int id, String tagName) {
+        var article = new Article(author, "Title " + id, "Description", "Body");
+        ReflectionTestUtils.setField(article, "id", id);
+        article.addTag(new ArticleTag(article, new Tag(tagName)));
+        return article;
+    }
+
+    private DomainEvent event(DomainEvent.Type type, Object aggregateId, List<String> tagNames) {
+        return new DomainEvent(1, type, aggregateId.toString(), author.getId(), tagNames, LocalDateTime.now());
+    }
+
+    private static ArticleDetails details(Article article) {
+        return ArticleDetails.unauthenticated(article, 0);
+    }
+}
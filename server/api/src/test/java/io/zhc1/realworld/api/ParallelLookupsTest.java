@@ -0,0 +1,126 @@
+package io.zhc1.realworld.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.zhc1.realworld.context.RequestContext;
+
+@DisplayName("Parallel Lookups - Concurrent Independent Lookups")
+class ParallelLookupsTest {
+    ParallelLookups sut = new ParallelLookups(Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    @DisplayName("When both lookups succeed, then should return both results")
+    void whenBothLookupsSucceed_thenShouldReturnBothResults() {
+        // when
+        var lookups = sut.both(() -> "article", () -> 42);
+
+        // then
+        assertThat(lookups.first()).isEqualTo("article");
+        assertThat(lookups.second()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("When lookups wait for each other, then they should run at the same time")
+    void whenLookupsWaitForEachOther_thenShouldRunConcurrently() {
+        // given
+        var started = new CountDownLatch(2);
+
+        // when
+        var lookups = sut.both(() -> awaitOther(started), () -> awaitOther(started));
+
+        // then
+        assertThat(lookups.first()).isTrue();
+        assertThat(lookups.second()).isTrue();
+    }
+
+    @Test
+    @DisplayName("When a lookup fails, then should throw its exception and interrupt the other lookup")
+    void whenLookupFails_thenShouldThrowItsExceptionAndInterruptOther() throws Exception {
+        // given
+        var started = new CountDownLatch(2);
+        var interrupted = new CompletableFuture<Boolean>();
+
+        // when & then
+        assertThatThrownBy(() -> sut.both(
+                        () -> {
+                            awaitOther(started);
+                            throw new NoSuchElementException("article not found.");
+                        },
+                        () -> {
+                            started.countDown();
+                            return sleepUntilInterrupted(interrupted);
+                        }))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("article not found.");
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("When lookups miss the deadline, then should fail with a timeout and interrupt them")
+    void whenLookupsMissDeadline_thenShouldFailWithTimeout() throws Exception {
+        // given
+        var impatient = new ParallelLookups(Duration.ofMillis(50));
+        var interrupted = new CompletableFuture<Boolean>();
+
+        // when & then
+        assertThatThrownBy(() -> impatient.both(() -> "article", () -> sleepUntilInterrupted(interrupted)))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Lookups should see the request context of the caller")
+    void whenLookupsForked_thenShouldInheritRequestContext() {
+        // given
+        var context = RequestContext.begin(UUID.randomUUID());
+
+        // when
+        var lookups = sut.both(
+                () -> RequestContext.current().orElseThrow(),
+                () -> RequestContext.current().orElseThrow());
+
+        // then
+        assertThat(lookups.first()).isSameAs(context);
+        assertThat(lookups.second()).isSameAs(context);
+    }
+
+    private static boolean awaitOther(CountDownLatch started) {
+        started.countDown();
+        try {
+            return started.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String sleepUntilInterrupted(CompletableFuture<Boolean> interrupted) {
+        try {
+            Thread.sleep(Duration.ofMinutes(1));
+            interrupted.complete(false);
+        } catch (InterruptedException e) {
+            interrupted.complete(true);
+        }
+        return "profile";
+    }
+}
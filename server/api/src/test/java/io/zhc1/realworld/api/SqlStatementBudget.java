@@ -0,0 +1,42 @@
+package io.zhc1.realworld.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Asserts how many SQL statements and connections an endpoint used, as reported in the {@code Server-Timing} header.
+ *
+ * <pre>
+ * mockMvc.perform(get("/api/articles")).andExpect(SqlStatementBudget.maxQueries(3));
+ * </pre>
+ *
+ * <p>Statements executed by the test itself, outside of the request, are not counted.
+ */
+final class SqlStatementBudget {
+    private static final Pattern STATEMENTS = Pattern.compile("sql;desc=\"statements=(\\d+) connections=(\\d+)\"");
+
+    private SqlStatementBudget() {}
+
+    static ResultMatcher maxQueries(int max) {
+        return result -> assertThat(count(result.getResponse().getHeader("Server-Timing"), 1))
+                .as("SQL statements executed by %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    static ResultMatcher maxConnections(int max) {
+        return result -> assertThat(count(result.getResponse().getHeader("Server-Timing"), 2))
+                .as("database connections acquired by %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    private static long count(String serverTiming, int group) {
+        assertThat(serverTiming).as("Server-Timing header").isNotNull();
+
+        var matcher = STATEMENTS.matcher(serverTiming);
+        assertThat(matcher.find()).as("SQL metric in Server-Timing header").isTrue();
+        return Long.parseLong(matcher.group(group));
+    }
+}
@@ -1,6 +1,8 @@
 package io.zhc1.realworld.api;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -71,4 +74,86 @@ class TagControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.tags").isArray());
     }
+
+    @Test
+    @DisplayName("GET /api/tags?top=N should return the most used tags first")
+    void whenGetPopularTags_thenShouldReturnMostUsedTagsFirst() throws Exception {
+        mockMvc.perform(get("/api/tags").param("top", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(1))
+                .andExpect(jsonPath("$.tags[0]").value("spring"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tags?top=N should stop counting tags of deleted articles")
+    void whenArticleDeleted_thenPopularTagsShouldBeUpdated() throws Exception {
+        var article = articleService.getArticle("test-article-2");
+        articleService.delete(testUser, article);
+
+        mockMvc.perform(get("/api/tags").param("top", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(2))
+                .andExpect(jsonPath("$.tags[0]").value("java"))
+                .andExpect(jsonPath("$.tags[1]").value("spring"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tags?top=N should return 400 when N is out of range")
+    void whenGetPopularTagsWithInvalidTop_thenShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tags").param("top", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/tags should return 304 when the ETag still matches")
+    void whenGetAllTagsWithMatchingETag_thenShouldReturn304() throws Exception {
+        var eTag = mockMvc.perform(get("/api/tags"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tags").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/tags should include new tags immediately after an article introduces them")
+    void whenArticleIntroducesNewTag_thenAllTagsShouldIncludeItImmediately() throws Exception {
+        var eTag = mockMvc.perform(get("/api/tags"))
+                .andExpect(jsonPath("$.tags.length()").value(3))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        var article = new Article(testUser, "Test Article 3", "Description 3", "Body 3");
+        articleService.write(article, Set.of(new Tag("rust")));
+
+        var newETag = mockMvc.perform(get("/api/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(4))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("GET /api/tags/suggest should return used tags starting with the prefix")
+    void whenSuggestTags_thenShouldReturnTagsStartingWithPrefix() throws Exception {
+        var article = new Article(testUser, "Test Article 3", "Description 3", "Body 3");
+        articleService.write(article, Set.of(new Tag("javascript")));
+
+        mockMvc.perform(get("/api/tags/suggest").param("prefix", "ja"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(2))
+                .andExpect(jsonPath("$.tags[0]").value("java"))
+                .andExpect(jsonPath("$.tags[1]").value("javascript"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tags/suggest should return 400 when the prefix is blank")
+    void whenSuggestTagsWithBlankPrefix_thenShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/tags/suggest").param("prefix", " ")).andExpect(status().isBadRequest());
+    }
 }
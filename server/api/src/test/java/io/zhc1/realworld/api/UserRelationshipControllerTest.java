@@ -6,6 +6,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,7 @@ import io.zhc1.realworld.service.UserService;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 @DisplayName("User Relationship API - User Follow/Unfollow and Profile Operations")
 class UserRelationshipControllerTest {
     @Autowired
@@ -51,6 +55,51 @@ class UserRelationshipControllerTest {
         targetUser = userService.signup(registry2);
     }
 
+    @Test
+    @DisplayName("GET /api/profiles/{username} should load a profile in a fixed number of queries")
+    void whenGetProfile_thenShouldStayWithinQueryBudget() throws Exception {
+        relationshipService.follow(testUser, targetUser);
+
+        mockMvc.perform(get("/api/profiles/" + targetUser.getUsername()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile.following").value(false))
+                .andExpect(SqlStatementBudget.maxQueries(2));
+
+        mockMvc.perform(get("/api/profiles/" + targetUser.getUsername()).header("Authorization", testToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile.following").value(true))
+                .andExpect(SqlStatementBudget.maxQueries(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/profiles?usernames= should return the profiles found in the order of the usernames")
+    void whenGetProfilesByUsernames_thenShouldReturnFoundProfilesInOrder() throws Exception {
+        relationshipService.follow(testUser, targetUser);
+        var usernames = String.join(",", targetUser.getUsername(), "nonexistentuser", testUser.getUsername());
+
+        mockMvc.perform(get("/api/profiles").param("usernames", usernames))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profilesCount").value(2))
+                .andExpect(jsonPath("$.profiles[0].username").value("targetuser"))
+                .andExpect(jsonPath("$.profiles[0].following").value(false))
+                .andExpect(jsonPath("$.profiles[1].username").value("testuser"));
+
+        mockMvc.perform(get("/api/profiles").param("usernames", usernames).header("Authorization", testToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profilesCount").value(2))
+                .andExpect(jsonPath("$.profiles[0].username").value("targetuser"))
+                .andExpect(jsonPath("$.profiles[0].following").value(true))
+                .andExpect(jsonPath("$.profiles[1].following").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/profiles?usernames= should return 400 for more than 50 usernames")
+    void whenGetProfilesByTooManyUsernames_thenShouldReturn400() throws Exception {
+        var usernames = IntStream.range(0, 51).mapToObj(i -> "user" + i).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/profiles").param("usernames", usernames)).andExpect(status().isBadRequest());
+    }
+
     //@Test
     @DisplayName("GET /api/profiles/{username} should return user profile")
     void whenGetProfile_thenShouldReturnProfile() throws Exception {
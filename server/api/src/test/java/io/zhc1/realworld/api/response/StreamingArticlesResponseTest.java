@@ -0,0 +1,64 @@
+package io.zhc1.realworld.api.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zhc1.realworld.config.ApplicationObjectMapper;
+import io.zhc1.realworld.model.Article;
+import io.zhc1.realworld.model.ArticleDetails;
+import io.zhc1.realworld.model.ArticleTag;
+import io.zhc1.realworld.model.Tag;
+import io.zhc1.realworld.model.User;
+
+@DisplayName("Streaming Articles Response - Direct Serialization of Article Lists")
+class StreamingArticlesResponseTest {
+    ObjectMapper objectMapper;
+    List<ArticleDetails> articles;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = ApplicationObjectMapper.create();
+
+        var author = new User("author@example.com", "author", "password");
+        ReflectionTestUtils.setField(author, "id", UUID.randomUUID());
+
+        articles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            var article = new Article(author, "Title " + i, "Description " + i, "Body " + i);
+            article.addTag(new ArticleTag(article, new Tag("java")));
+            article.addTag(new ArticleTag(article, new Tag("spring")));
+            articles.add(new ArticleDetails(article, i, i % 2 == 0));
+        }
+    }
+
+    @Test
+    @DisplayName("When serialized, then should write the same JSON as the multiple articles response")
+    void whenSerialized_thenShouldWriteSameJsonAsMultipleArticlesResponse() throws Exception {
+        // given
+        var multipleArticlesResponse = multipleArticlesResponse(articles);
+
+        // when
+        var streamed = objectMapper.writeValueAsString(new StreamingArticlesResponse(articles));
+
+        // then
+        assertThat(objectMapper.readTree(streamed))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(multipleArticlesResponse)));
+        assertThat(objectMapper.readTree(streamed).at("/articles/0/createdAt").asText())
+                .matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z");
+    }
+
+    private static MultipleArticlesResponse multipleArticlesResponse(List<ArticleDetails> articles) {
+        return new MultipleArticlesResponse(
+                articles.stream().map(ArticleResponse::new).toList());
+    }
+}
@@ -2,6 +2,7 @@ package io.zhc1.realworld.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,8 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 
+import io.zhc1.realworld.model.ArticleEditConflictException;
+
 @DisplayName("Application Exception Handler - HTTP Error Response Mapping")
 class ApplicationExceptionHandlerTest {
     ApplicationExceptionHandler sut;
@@ -36,6 +39,21 @@ class ApplicationExceptionHandlerTest {
         assertThat(problem.getDetail()).isEqualTo("not found");
     }
 
+    @Test
+    @DisplayName("When handling ArticleEditConflictException, then should return 409 Conflict")
+    void whenHandlingArticleEditConflictException_thenShouldReturn409Conflict() {
+        ProblemDetail problem = sut.handle(new ArticleEditConflictException("conflict", null));
+        assertThat(problem.getStatus()).isEqualTo(409);
+        assertThat(problem.getDetail()).isEqualTo("conflict");
+    }
+
+    @Test
+    @DisplayName("When handling other ConcurrentModificationExceptions, then should return 500 Internal Server Error")
+    void whenHandlingConcurrentModificationException_thenShouldReturn500InternalServerError() {
+        ProblemDetail problem = sut.handle((Exception) new ConcurrentModificationException("iterator"));
+        assertThat(problem.getStatus()).isEqualTo(500);
+    }
+
     @Test
     @DisplayName("When handling AccessDeniedException, then should return 403 Forbidden")
     void whenHandlingAccessDeniedException_thenShouldReturn403Forbidden() {
@@ -0,0 +1,18 @@
+package io.zhc1.realworld.config;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/** Builds the {@link ObjectMapper} the application configures, for tests that run without a Spring context. */
+public final class ApplicationObjectMapper {
+    private ApplicationObjectMapper() {}
+
+    public static ObjectMapper create() {
+        // Note: The same defaults Spring Boot applies to the builder it hands to the configuration.
+        return new ObjectMapperConfiguration()
+                .objectMapper(Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+}
@@ -51,4 +51,17 @@ class ObjectMapperConfigurationTest {
         // then
         assertThat(iso8601String).isEqualTo("2021-08-01T00:00:00.000Z");
     }
+
+    @Test
+    @DisplayName("When converting LocalDateTime with fractions, then should pad fields and truncate to milliseconds")
+    void whenConvertingLocalDateTimeWithFractions_thenShouldPadFieldsAndTruncateToMilliseconds() {
+        // given
+        LocalDateTime localDateTime = LocalDateTime.of(987, 3, 5, 7, 8, 9, 12_999_999);
+
+        // when
+        String iso8601String = sut.convertValue(localDateTime, String.class);
+
+        // then
+        assertThat(iso8601String).isEqualTo("0987-03-05T07:08:09.012Z");
+    }
 }
@@ -0,0 +1,82 @@
+package io.zhc1.realworld.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+        properties = {
+            "realworld.rate-limit.expensive.capacity=2",
+            "realworld.rate-limit.expensive.refill-period=1m",
+            "realworld.rate-limit.standard.capacity=5",
+            "realworld.rate-limit.standard.refill-period=1m"
+        })
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@DisplayName("Rate Limit Filter - Token Buckets per Client and Budget")
+class RateLimitFilterTest {
+    static final String LOGIN_JSON =
+            """
+            {"user": {"email": "nobody@example.com", "password": "password123"}}
+            """;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Logins beyond the budget should be rejected with 429 and Retry-After")
+    void whenLoginsExceedBudget_thenShouldReturn429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/users/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(LOGIN_JSON))
+                    .andExpect(status().is4xxClientError());
+        }
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOGIN_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    @DisplayName("Reads should have their own budget, so exhausted logins do not block them")
+    void whenLoginsExhausted_thenReadsShouldStillBeAdmitted() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/users/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(LOGIN_JSON));
+        }
+
+        mockMvc.perform(get("/api/tags")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Clients should be limited separately by their address")
+    void whenOneClientExhaustsBudget_thenOtherClientsShouldBeAdmitted() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/tags")).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/tags")).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/api/tags").with(request -> {
+                    request.setRemoteAddr("192.0.2.1");
+                    return request;
+                }))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,79 @@
+package io.zhc1.realworld.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Token Bucket - Lock-Free Rate Limiting")
+class TokenBucketTest {
+    static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("A full bucket should admit a burst of its capacity and then report the wait")
+    void whenBurstExceedsCapacity_thenShouldReportWait() {
+        // given
+        var sut = new TokenBucket(3, Duration.ofSeconds(1), 0);
+
+        // when
+        var taken = new long[] {sut.tryTake(0), sut.tryTake(0), sut.tryTake(0)};
+        var rejected = sut.tryTake(0);
+
+        // then
+        assertThat(taken).containsOnly(0);
+        assertThat(rejected).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("Tokens should be refilled one per refill period, up to the capacity")
+    void whenTimePasses_thenShouldRefillUpToCapacity() {
+        // given
+        var sut = new TokenBucket(2, Duration.ofSeconds(1), 0);
+        sut.tryTake(0);
+        sut.tryTake(0);
+
+        // when & then
+        assertThat(sut.tryTake(SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(sut.tryTake(SECOND)).isZero();
+        assertThat(sut.tryTake(SECOND)).isPositive();
+
+        // Note: After a long idle time the bucket is full, but never holds more than its capacity.
+        assertThat(sut.tryTake(100 * SECOND)).isZero();
+        assertThat(sut.tryTake(100 * SECOND)).isZero();
+        assertThat(sut.tryTake(100 * SECOND)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Concurrent callers should never take more tokens than the bucket holds")
+    void whenTakenConcurrently_thenShouldNotExceedCapacity() {
+        // given
+        var sut = new TokenBucket(100, Duration.ofHours(1), 0);
+        var admitted = new AtomicInteger();
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (sut.tryTake(0) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // then
+        assertThat(admitted).hasValue(100);
+    }
+
+    @Test
+    @DisplayName("A bucket without capacity should be rejected")
+    void whenCapacityIsZero_thenShouldThrowException() {
+        assertThatThrownBy(() -> new TokenBucket(0, Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
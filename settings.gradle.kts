@@ -6,3 +6,6 @@ include(":module:core", ":module:persistence")
 // Include the server module
 include(":realworld")
 project(":realworld").projectDir = file("server/api")
+
+// Include the benchmark module
+include(":benchmark")